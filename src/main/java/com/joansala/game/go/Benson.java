@@ -0,0 +1,458 @@
+package com.joansala.game.go;
+
+/*
+ * Aalina engine.
+ * Copyright (C) 2021-2024 Joan Sala Soler <contact@joansala.com>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+import com.joansala.util.bits.Bitset;
+import com.joansala.game.go.attacks.Flood;
+
+import static com.joansala.game.go.Go.*;
+
+
+/**
+ * Finds the chains of a position that are unconditionally alive using
+ * Benson's algorithm.
+ *
+ * For each color, the board is split into chains of that color and
+ * regions, which are the connected areas of points without stones of
+ * that color. A region is vital to a chain if all its empty points are
+ * liberties of the chain. Chains with fewer than two vital regions and
+ * the regions that touch them are discarded until no more chains can
+ * be discarded. The remaining chains cannot be captured even if their
+ * owner always forfeits its turn.
+ *
+ * The points of the alive chains and of the regions that are vital to
+ * them are settled: rival stones placed there cannot live, and moves of
+ * the owner there can only reduce its eyes.
+ */
+public final class Benson {
+
+    /** Bitboard operations for the board */
+    private final Flood flood;
+
+    /** Number of words on each bitboard */
+    private final int words;
+
+    /** Black stones of the analyzed position */
+    private final long[] black;
+
+    /** White stones of the analyzed position */
+    private final long[] white;
+
+    /** Stones of the analyzed color */
+    private final long[] own;
+
+    /** Points without stones of the analyzed color */
+    private final long[] open;
+
+    /** Empty points of the position */
+    private final long[] empty;
+
+    /** Points not yet assigned to a chain or region */
+    private final long[] pending;
+
+    /** Working space for bitboard operations */
+    private final long[] scratch;
+
+    /** Points of each chain */
+    private final long[][] chains;
+
+    /** Liberties of each chain */
+    private final long[][] liberties;
+
+    /** Points of each region */
+    private final long[][] regions;
+
+    /** Chain index of each stone of the analyzed color */
+    private final int[] owners;
+
+    /** First link of each region */
+    private final int[] firsts;
+
+    /** Chain that borders a region on each link */
+    private final int[] links;
+
+    /** If the region is vital to the chain on each link */
+    private final boolean[] vitals;
+
+    /** Number of vital regions of each chain */
+    private final int[] counts;
+
+    /** If each chain was not yet discarded */
+    private final boolean[] alive;
+
+    /** If each region was not yet discarded */
+    private final boolean[] healthy;
+
+    /** Alive stones of each color */
+    private final long[][] stones;
+
+    /** Settled points of each color */
+    private final long[][] settled;
+
+
+    /**
+     * Creates a new analyzer for a board geometry.
+     *
+     * @param geometry  Board geometry
+     */
+    public Benson(Geometry geometry) {
+        final int size = geometry.size();
+
+        this.flood = Flood.of(geometry);
+        this.words = geometry.words();
+        this.black = new long[words];
+        this.white = new long[words];
+        this.own = new long[words];
+        this.open = new long[words];
+        this.empty = new long[words];
+        this.pending = new long[words];
+        this.scratch = new long[words];
+        this.chains = new long[size][words];
+        this.liberties = new long[size][words];
+        this.regions = new long[size][words];
+        this.owners = new int[size];
+        this.firsts = new int[1 + size];
+        this.links = new int[4 * size];
+        this.vitals = new boolean[4 * size];
+        this.counts = new int[size];
+        this.alive = new boolean[size];
+        this.healthy = new boolean[size];
+        this.stones = new long[PIECE_COUNT][words];
+        this.settled = new long[PIECE_COUNT][words];
+    }
+
+
+    /**
+     * Finds the alive chains and settled points of both players.
+     *
+     * @param black     Black stones
+     * @param white     White stones
+     */
+    public void analyze(Bitset black, Bitset white) {
+        flood.copy(black, this.black);
+        flood.copy(white, this.white);
+        analyze(this.black, this.white);
+    }
+
+
+    /**
+     * Finds the alive chains and settled points of both players on a
+     * position given as a pair of stone bitboards.
+     *
+     * @param black     Black stones bitboard
+     * @param white     White stones bitboard
+     */
+    public void analyze(long[] black, long[] white) {
+        analyze(black, white, BLACK);
+        analyze(white, black, WHITE);
+    }
+
+
+    /**
+     * Stones of a player that are unconditionally alive. The returned
+     * bitboard is overwritten on the next analysis.
+     *
+     * @param color     Stone color
+     * @return          Bitboard of alive stones
+     */
+    public long[] alive(int color) {
+        return stones[color];
+    }
+
+
+    /**
+     * Points that are settled for a player. These are its alive stones
+     * and the regions that are vital to them, including any rival stones
+     * placed there. The returned bitboard is overwritten on the next
+     * analysis.
+     *
+     * @param color     Stone color
+     * @return          Bitboard of settled points
+     */
+    public long[] settled(int color) {
+        return settled[color];
+    }
+
+
+    /**
+     * Finds the alive chains and settled points of a player.
+     *
+     * @param stones    Stones of the player
+     * @param rivals    Stones of the rival
+     * @param color     Stone color of the player
+     */
+    private void analyze(long[] stones, long[] rivals, int color) {
+        for (int i = 0; i < words; i++) {
+            own[i] = stones[i];
+            open[i] = rivals[i];
+        }
+
+        flood.empty(own, open, empty);
+
+        for (int i = 0; i < words; i++) {
+            open[i] |= empty[i];
+        }
+
+        final int chainCount = split(own, chains);
+        final int regionCount = split(open, regions);
+
+        for (int chain = 0; chain < chainCount; chain++) {
+            flood.neighbors(chains[chain], scratch);
+
+            for (int i = 0; i < words; i++) {
+                liberties[chain][i] = scratch[i] & empty[i];
+            }
+
+            markOwner(chain);
+            alive[chain] = true;
+        }
+
+        for (int region = 0; region < regionCount; region++) {
+            healthy[region] = true;
+        }
+
+        linkRegions(regionCount);
+        discard(chainCount, regionCount);
+        collect(color, chainCount, regionCount);
+    }
+
+
+    /**
+     * Splits a bitboard into its connected areas, which are stored
+     * consecutively on the given array.
+     *
+     * @param points    Points to split
+     * @param areas     Where to store the areas
+     * @return          Number of areas found
+     */
+    private int split(long[] points, long[][] areas) {
+        int count = 0;
+
+        for (int i = 0; i < words; i++) {
+            pending[i] = points[i];
+        }
+
+        for (int i = 0; i < words; i++) {
+            while (pending[i] != 0L) {
+                final long[] area = areas[count++];
+
+                for (int n = 0; n < words; n++) {
+                    area[n] = 0L;
+                }
+
+                area[i] = Long.lowestOneBit(pending[i]);
+                flood.fill(area, points, scratch);
+
+                for (int n = 0; n < words; n++) {
+                    pending[n] &= ~area[n];
+                }
+            }
+        }
+
+        return count;
+    }
+
+
+    /**
+     * Stores the index of a chain for each of its stones.
+     *
+     * @param chain     Chain index
+     */
+    private void markOwner(int chain) {
+        final long[] area = chains[chain];
+
+        for (int i = 0; i < words; i++) {
+            long word = area[i];
+
+            while (word != 0L) {
+                owners[(i << 6) + Long.numberOfTrailingZeros(word)] = chain;
+                word &= word - 1;
+            }
+        }
+    }
+
+
+    /**
+     * Links each region to the chains that border it and checks if
+     * the region is vital to each of them.
+     *
+     * @param regionCount   Number of regions
+     */
+    private void linkRegions(int regionCount) {
+        int link = 0;
+
+        for (int region = 0; region < regionCount; region++) {
+            final long[] area = regions[region];
+            final int first = link;
+
+            firsts[region] = first;
+            flood.neighbors(area, scratch);
+
+            for (int i = 0; i < words; i++) {
+                long word = scratch[i] & own[i];
+
+                while (word != 0L) {
+                    final int point = (i << 6) + Long.numberOfTrailingZeros(word);
+                    final int chain = owners[point];
+
+                    if (isLinked(chain, first, link) == false) {
+                        vitals[link] = isVital(area, chain);
+                        links[link++] = chain;
+                    }
+
+                    word &= word - 1;
+                }
+            }
+        }
+
+        firsts[regionCount] = link;
+    }
+
+
+    /**
+     * Check if a chain is already linked to the region being linked.
+     */
+    private boolean isLinked(int chain, int first, int last) {
+        for (int link = first; link < last; link++) {
+            if (links[link] == chain) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+
+    /**
+     * Check if all the empty points of a region are liberties of
+     * the given chain.
+     */
+    private boolean isVital(long[] area, int chain) {
+        final long[] free = liberties[chain];
+
+        for (int i = 0; i < words; i++) {
+            if ((area[i] & empty[i] & ~free[i]) != 0L) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+
+    /**
+     * Repeatedly discards the chains with fewer than two vital regions
+     * and the regions that border a discarded chain.
+     *
+     * @param chainCount    Number of chains
+     * @param regionCount   Number of regions
+     */
+    private void discard(int chainCount, int regionCount) {
+        boolean changed = true;
+
+        while (changed) {
+            changed = false;
+
+            for (int chain = 0; chain < chainCount; chain++) {
+                counts[chain] = 0;
+            }
+
+            for (int region = 0; region < regionCount; region++) {
+                if (healthy[region]) {
+                    for (int link = firsts[region]; link < firsts[region + 1]; link++) {
+                        if (vitals[link]) {
+                            counts[links[link]]++;
+                        }
+                    }
+                }
+            }
+
+            for (int chain = 0; chain < chainCount; chain++) {
+                if (alive[chain] && counts[chain] < 2) {
+                    alive[chain] = false;
+                    changed = true;
+                }
+            }
+
+            for (int region = 0; region < regionCount; region++) {
+                if (healthy[region]) {
+                    for (int link = firsts[region]; link < firsts[region + 1]; link++) {
+                        if (alive[links[link]] == false) {
+                            healthy[region] = false;
+                            break;
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+
+    /**
+     * Stores the alive stones of a player and the points of the regions
+     * that are vital to them.
+     *
+     * @param color         Stone color
+     * @param chainCount    Number of chains
+     * @param regionCount   Number of regions
+     */
+    private void collect(int color, int chainCount, int regionCount) {
+        final long[] stones = this.stones[color];
+        final long[] settled = this.settled[color];
+
+        for (int i = 0; i < words; i++) {
+            stones[i] = 0L;
+        }
+
+        for (int chain = 0; chain < chainCount; chain++) {
+            if (alive[chain]) {
+                for (int i = 0; i < words; i++) {
+                    stones[i] |= chains[chain][i];
+                }
+            }
+        }
+
+        for (int i = 0; i < words; i++) {
+            settled[i] = stones[i];
+        }
+
+        for (int region = 0; region < regionCount; region++) {
+            if (healthy[region] && isSettled(region)) {
+                for (int i = 0; i < words; i++) {
+                    settled[i] |= regions[region][i];
+                }
+            }
+        }
+    }
+
+
+    /**
+     * Check if a region that was not discarded is vital to any of the
+     * chains that border it.
+     */
+    private boolean isSettled(int region) {
+        for (int link = firsts[region]; link < firsts[region + 1]; link++) {
+            if (vitals[link]) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+}
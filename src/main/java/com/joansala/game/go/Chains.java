@@ -0,0 +1,553 @@
+package com.joansala.game.go;
+
+/*
+ * Aalina engine.
+ * Copyright (C) 2021-2024 Joan Sala Soler <contact@joansala.com>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+import java.util.Arrays;
+import com.joansala.util.bits.Bitset;
+import com.joansala.game.go.attacks.Flood;
+
+import static com.joansala.game.go.Go.*;
+import static com.joansala.game.go.Mailbox.*;
+
+
+/**
+ * Chains of stones of a Go position that are kept up to date as
+ * stones are placed and captured.
+ *
+ * Each chain is identified by one of its stones. For each stone the
+ * table stores the identifier of its chain and the next stone of the
+ * chain, so that stones form a circular list. For each identifier
+ * the table stores the number of stones and the liberties of the
+ * chain as bitset words.
+ *
+ * Placing a stone merges the chains it touches and capturing a chain
+ * releases its liberties; both are incremental. Undoing a move rebuilds
+ * only the chains around the point where the stone was placed.
+ *
+ * Besides the exact liberties, each chain keeps the count, sum and sum
+ * of squares of its pseudo-liberties, which are the empty neighbors of
+ * each of its stones counted once per adjacent stone. A chain is in
+ * atari when all its pseudo-liberties are the same point, that is, when
+ * the square of their sum equals their count times their sum of squares.
+ */
+final class Chains {
+
+    /** Identifier of an empty intersection */
+    static final int NONE = -1;
+
+    /** Current position bitboards */
+    private Bitset[] state;
+
+    /** Current position contents */
+    private final Mailbox mailbox;
+
+    /** Bitboard operations for the board */
+    private final Flood flood;
+
+    /** Offsets to the neighbors of a cell */
+    private final int[] offsets;
+
+    /** Number of intersections on the board */
+    private final int size;
+
+    /** Number of words on each bitboard */
+    private final int words;
+
+    /** Chain identifier of each point */
+    private final int[] chains;
+
+    /** Next stone of the chain of each point */
+    private final int[] links;
+
+    /** Number of stones of each chain */
+    private final int[] sizes;
+
+    /** Liberty words of each chain */
+    private final long[] liberties;
+
+    /** Number of pseudo-liberties of each chain */
+    private final int[] pseudos;
+
+    /** Sum of the pseudo-liberties of each chain */
+    private final int[] sums;
+
+    /** Sum of squares of the pseudo-liberties of each chain */
+    private final int[] squares;
+
+    /** Points already visited by a fill */
+    private final long[] visited;
+
+    /** Points of the chain being filled */
+    private final long[] area;
+
+    /** Stones that can be reached by a fill */
+    private final long[] mask;
+
+    /** Empty points of the position */
+    private final long[] empty;
+
+    /** Working space for fills */
+    private final long[] scratch;
+
+
+    /**
+     * Creates a new chains table.
+     *
+     * @param geometry  Board geometry
+     * @param mailbox   Contents of the position
+     */
+    Chains(Geometry geometry, Mailbox mailbox) {
+        this.mailbox = mailbox;
+        this.flood = Flood.of(geometry);
+        this.offsets = mailbox.offsets;
+        this.size = geometry.size();
+        this.words = geometry.words();
+        this.chains = new int[size];
+        this.links = new int[size];
+        this.sizes = new int[size];
+        this.liberties = new long[size * words];
+        this.pseudos = new int[size];
+        this.sums = new int[size];
+        this.squares = new int[size];
+        this.visited = new long[words];
+        this.area = new long[words];
+        this.mask = new long[words];
+        this.empty = new long[words];
+        this.scratch = new long[words];
+    }
+
+
+    /**
+     * Rebuilds all the chains of a position.
+     *
+     * @param state     Position bitboards
+     */
+    void reset(Bitset[] state) {
+        this.state = state;
+        Arrays.fill(chains, NONE);
+        Arrays.fill(visited, 0L);
+
+        for (int point = 0; point < size; point++) {
+            if (!mailbox.isEmpty(point) && !isVisited(point)) {
+                fill(point);
+            }
+        }
+    }
+
+
+    /**
+     * Next stone on the chain of a stone.
+     *
+     * @param point     Stone point
+     * @return          Stone point
+     */
+    int next(int point) {
+        return links[point];
+    }
+
+
+    /**
+     * Check if the chain of a stone does not have any liberties.
+     *
+     * @param point     Stone point
+     */
+    boolean isCaptured(int point) {
+        return pseudos[chains[point]] == 0;
+    }
+
+
+    /**
+     * Check if the chain of a stone has exactly one liberty.
+     *
+     * @param point     Stone point
+     */
+    boolean isAtari(int point) {
+        final int chain = chains[point];
+        final long sum = sums[chain];
+        final long count = pseudos[chain];
+
+        return count != 0 && count * squares[chain] == sum * sum;
+    }
+
+
+    /**
+     * Liberty of a chain that is in atari.
+     *
+     * @param point     Stone point
+     * @return          Intersection point
+     */
+    int lastLiberty(int point) {
+        final int chain = chains[point];
+        return sums[chain] / pseudos[chain];
+    }
+
+
+    /**
+     * Check if placing a stone on an empty point would leave its chain
+     * with a single liberty without capturing any rival stones.
+     *
+     * @param point     Empty point
+     * @param color     Color of the stone
+     */
+    boolean isSelfAtari(int point, int color) {
+        final int cell = mailbox.cell(point);
+
+        for (int i = 0; i < words; i++) {
+            scratch[i] = 0L;
+        }
+
+        for (int offset : offsets) {
+            final int contents = mailbox.contents(cell + offset);
+
+            if (contents == EMPTY) {
+                final int neighbor = mailbox.point(cell + offset);
+                scratch[neighbor >> 6] |= 1L << neighbor;
+            } else if (contents == color) {
+                final int base = chains[mailbox.point(cell + offset)] * words;
+
+                for (int i = 0; i < words; i++) {
+                    scratch[i] |= liberties[base + i];
+                }
+            } else if (contents != EDGE) {
+                if (isAtari(mailbox.point(cell + offset))) {
+                    return false;
+                }
+            }
+        }
+
+        scratch[point >> 6] &= ~(1L << point);
+
+        return flood.count(scratch) <= 1;
+    }
+
+
+    /**
+     * Adds a stone that was placed on the board to the chains. The
+     * new stone joins the largest neighbor chain of its color and the
+     * rest of neighbor chains of its color are merged into it.
+     *
+     * @param point     Placed stone point
+     * @param color     Color of the stone
+     */
+    void place(int point, int color) {
+        final int cell = mailbox.cell(point);
+        int target = point;
+
+        for (int offset : offsets) {
+            if (mailbox.contents(cell + offset) == color) {
+                final int chain = chains[mailbox.point(cell + offset)];
+
+                if (target == point || sizes[chain] > sizes[target]) {
+                    target = chain;
+                }
+            }
+        }
+
+        if (target == point) {
+            links[point] = point;
+            sizes[point] = 0;
+            clearLiberties(point);
+            clearPseudos(point);
+        } else {
+            links[point] = links[target];
+            links[target] = point;
+        }
+
+        chains[point] = target;
+        sizes[target]++;
+
+        for (int offset : offsets) {
+            final int contents = mailbox.contents(cell + offset);
+
+            if (contents == EMPTY) {
+                insertLiberty(target, mailbox.point(cell + offset));
+                insertPseudo(target, mailbox.point(cell + offset));
+            } else if (contents != EDGE) {
+                final int chain = chains[mailbox.point(cell + offset)];
+
+                if (chain != target) {
+                    if (contents == color) {
+                        merge(target, chain);
+                    } else {
+                        removeLiberty(chain, point);
+                    }
+                }
+            }
+        }
+
+        removeLiberty(target, point);
+
+        for (int offset : offsets) {
+            if (mailbox.contents(cell + offset) < EMPTY) {
+                removePseudo(chains[mailbox.point(cell + offset)], point);
+            }
+        }
+    }
+
+
+    /**
+     * Removes the chain of a stone after it was captured. Each of its
+     * stones becomes a liberty of the neighbor chains.
+     *
+     * @param point     Captured stone point
+     */
+    void remove(int point) {
+        final int chain = chains[point];
+        int stone = chain;
+
+        do {
+            chains[stone] = NONE;
+            stone = links[stone];
+        } while (stone != chain);
+
+        do {
+            final int cell = mailbox.cell(stone);
+
+            for (int offset : offsets) {
+                if (mailbox.contents(cell + offset) < EMPTY) {
+                    final int neighbor = chains[mailbox.point(cell + offset)];
+                    insertLiberty(neighbor, stone);
+                    insertPseudo(neighbor, stone);
+                }
+            }
+
+            stone = links[stone];
+        } while (stone != chain);
+    }
+
+
+    /**
+     * Rebuilds the chains around a point after a stone placed on it
+     * was taken back. The chains adjacent to the point may have been
+     * split or brought back to the board, and the chains adjacent to
+     * any restored chain must give up their liberties on it. Restored
+     * chains are recognized because their stones have no identifier,
+     * and they are only occupied after all the chains are rebuilt so
+     * stale identifiers are never confused with the rebuilt ones.
+     *
+     * @param point     Intersection point
+     */
+    void restore(int point) {
+        final int cell = mailbox.cell(point);
+        int restored = 0;
+
+        Arrays.fill(visited, 0L);
+        chains[point] = NONE;
+
+        for (int i = 0; i < offsets.length; i++) {
+            if (mailbox.contents(cell + offsets[i]) < EMPTY) {
+                final int neighbor = mailbox.point(cell + offsets[i]);
+
+                if (!isVisited(neighbor)) {
+                    if (chains[neighbor] == NONE) {
+                        restored |= 1 << i;
+                    }
+
+                    fill(neighbor);
+                }
+            }
+        }
+
+        for (int i = 0; i < offsets.length; i++) {
+            if ((restored & (1 << i)) != 0) {
+                occupy(mailbox.point(cell + offsets[i]));
+            }
+        }
+    }
+
+
+    /**
+     * Removes the stones of a restored chain from the liberties of
+     * the neighbor chains that were not rebuilt.
+     *
+     * @param point     Stone point
+     */
+    private void occupy(int point) {
+        int stone = point;
+
+        do {
+            final int cell = mailbox.cell(stone);
+
+            for (int offset : offsets) {
+                if (mailbox.contents(cell + offset) < EMPTY) {
+                    final int neighbor = mailbox.point(cell + offset);
+                    final int chain = chains[neighbor];
+
+                    if (chain != NONE && !isVisited(neighbor)) {
+                        removeLiberty(chain, stone);
+                        removePseudo(chain, stone);
+                    }
+                }
+            }
+
+            stone = links[stone];
+        } while (stone != point);
+    }
+
+
+    /**
+     * Merges a chain into another chain.
+     *
+     * @param target    Chain that receives the stones
+     * @param chain     Chain to merge
+     */
+    private void merge(int target, int chain) {
+        int stone = chain;
+
+        do {
+            chains[stone] = target;
+            stone = links[stone];
+        } while (stone != chain);
+
+        final int link = links[target];
+        links[target] = links[chain];
+        links[chain] = link;
+        sizes[target] += sizes[chain];
+        pseudos[target] += pseudos[chain];
+        sums[target] += sums[chain];
+        squares[target] += squares[chain];
+
+        final int to = target * words;
+        final int from = chain * words;
+
+        for (int i = 0; i < words; i++) {
+            liberties[to + i] |= liberties[from + i];
+        }
+    }
+
+
+    /**
+     * Builds the chain that contains a stone from the position and
+     * marks its stones as visited. The stone becomes the identifier
+     * of the chain.
+     *
+     * @param point     Stone point
+     */
+    private void fill(int point) {
+        final int offset = point * words;
+
+        flood.copy(state[mailbox.get(point)], mask);
+        Arrays.fill(area, 0L);
+        area[point >> 6] = 1L << point;
+        flood.fill(area, mask, scratch);
+
+        flood.copy(state[BLACK], empty);
+        flood.copy(state[WHITE], scratch);
+        flood.empty(empty, scratch, empty);
+        flood.neighbors(area, scratch);
+
+        for (int i = 0; i < words; i++) {
+            liberties[offset + i] = scratch[i] & empty[i];
+            visited[i] |= area[i];
+        }
+
+        int last = point;
+
+        clearPseudos(point);
+
+        for (int i = 0; i < words; i++) {
+            long word = area[i];
+
+            while (word != 0L) {
+                final int stone = (i << 6) + Long.numberOfTrailingZeros(word);
+                final int cell = mailbox.cell(stone);
+
+                if (stone != point) {
+                    links[last] = stone;
+                    last = stone;
+                }
+
+                for (int direction : offsets) {
+                    if (mailbox.contents(cell + direction) == EMPTY) {
+                        insertPseudo(point, mailbox.point(cell + direction));
+                    }
+                }
+
+                chains[stone] = point;
+                word &= word - 1;
+            }
+        }
+
+        links[last] = point;
+        sizes[point] = flood.count(area);
+    }
+
+
+    /**
+     * Check if a point was visited by a fill.
+     */
+    private boolean isVisited(int point) {
+        return (visited[point >> 6] & (1L << point)) != 0L;
+    }
+
+
+    /**
+     * Removes all the liberties of a chain.
+     */
+    private void clearLiberties(int chain) {
+        final int offset = chain * words;
+        Arrays.fill(liberties, offset, offset + words, 0L);
+    }
+
+
+    /**
+     * Adds a liberty to a chain.
+     */
+    private void insertLiberty(int chain, int point) {
+        liberties[chain * words + (point >> 6)] |= 1L << point;
+    }
+
+
+    /**
+     * Removes a liberty from a chain.
+     */
+    private void removeLiberty(int chain, int point) {
+        liberties[chain * words + (point >> 6)] &= ~(1L << point);
+    }
+
+
+    /**
+     * Removes all the pseudo-liberties of a chain.
+     */
+    private void clearPseudos(int chain) {
+        pseudos[chain] = 0;
+        sums[chain] = 0;
+        squares[chain] = 0;
+    }
+
+
+    /**
+     * Adds a pseudo-liberty to a chain.
+     */
+    private void insertPseudo(int chain, int point) {
+        pseudos[chain]++;
+        sums[chain] += point;
+        squares[chain] += point * point;
+    }
+
+
+    /**
+     * Removes a pseudo-liberty from a chain.
+     */
+    private void removePseudo(int chain, int point) {
+        pseudos[chain]--;
+        sums[chain] -= point;
+        squares[chain] -= point * point;
+    }
+}
@@ -0,0 +1,225 @@
+package com.joansala.game.go;
+
+/*
+ * Aalina engine.
+ * Copyright (C) 2021-2024 Joan Sala Soler <contact@joansala.com>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+import java.util.Arrays;
+
+import static com.joansala.game.go.Go.*;
+import static com.joansala.engine.Game.*;
+
+
+/**
+ * Loads position diagrams into games without creating intermediate
+ * objects, so large collections of positions can be read quickly.
+ *
+ * Diagrams use the same notation as {@link GoBoard}: the placement of
+ * the stones, the player to move and the ko point, separated by single
+ * spaces. Stones are parsed straight into bitboards while the hash
+ * and the rest of the game state are computed by the game itself,
+ * which reuses its own representations if the board size does not
+ * change. Each loader must be used by a single thread.
+ */
+public final class DiagramLoader {
+
+    /** Separator of the diagram fields */
+    private static final char FIELD_SEPARATOR = ' ';
+
+    /** Separator of the board ranks */
+    private static final char RANK_SEPARATOR = '/';
+
+    /** Symbol of a missing ko point */
+    private static final char NO_KOPOINT = '-';
+
+    /** Stones parsed for each color */
+    private final long[][] position = new long[PIECE_COUNT][BITSET_SIZE];
+
+
+    /**
+     * Loads a diagram as the start position of a game.
+     *
+     * @param game          Game to load
+     * @param notation      Position diagram
+     * @return              Index that follows the diagram
+     * @throws IllegalArgumentException If the diagram is not valid
+     */
+    public int load(GoGame game, CharSequence notation) {
+        return load(game, notation, 0);
+    }
+
+
+    /**
+     * Loads the diagram found at an offset of a text as the start
+     * position of a game. The text may contain other fields after the
+     * diagram, which can be parsed from the returned index.
+     *
+     * @param game          Game to load
+     * @param text          Text that contains a diagram
+     * @param offset        Index where the diagram begins
+     * @return              Index that follows the diagram
+     * @throws IllegalArgumentException If the diagram is not valid
+     */
+    public int load(GoGame game, CharSequence text, int offset) {
+        final int length = text.length();
+        int ranks = 1;
+        int i = offset;
+
+        Arrays.fill(position[BLACK], 0L);
+        Arrays.fill(position[WHITE], 0L);
+
+        // Ranks are listed from the top of the board, so they are
+        // counted first to know the points of the first rank
+
+        for (char c; i < length && (c = text.charAt(i)) != FIELD_SEPARATOR; i++) {
+            if (c == RANK_SEPARATOR) {
+                ranks++;
+            }
+        }
+
+        final int files = ranks;
+        final Geometry geometry = toGeometry(files, text, offset);
+
+        // Stones placement, one rank after another
+
+        int rank = ranks - 1;
+        int file = 0;
+        int count = 0;
+
+        for (i = offset; i < length && text.charAt(i) != FIELD_SEPARATOR; i++) {
+            final char c = text.charAt(i);
+
+            if (c >= '0' && c <= '9') {
+                count = 10 * count + (c - '0');
+                continue;
+            }
+
+            file += count;
+            count = 0;
+
+            if (c == RANK_SEPARATOR) {
+                if (file != files) {
+                    throw invalidDiagram(text, offset);
+                }
+
+                file = 0;
+                rank--;
+            } else if (file < files) {
+                final int color = toColor(c);
+                final int point = rank * files + file;
+
+                if (color < 0) {
+                    throw invalidDiagram(text, offset);
+                }
+
+                position[color][point >> 6] |= 1L << point;
+                file++;
+            } else {
+                throw invalidDiagram(text, offset);
+            }
+        }
+
+        if (file + count != files) {
+            throw invalidDiagram(text, offset);
+        }
+
+        // Player to move and ko point
+
+        if (i + 2 >= length || text.charAt(i + 2) != FIELD_SEPARATOR) {
+            throw invalidDiagram(text, offset);
+        }
+
+        final int turn = toTurn(text.charAt(i + 1), text, offset);
+        int kopoint = -1;
+
+        i += 3;
+
+        if (i < length && text.charAt(i) == NO_KOPOINT) {
+            i++;
+        } else if (i < length) {
+            file = Geometry.toFile(text.charAt(i++));
+            rank = 0;
+
+            while (i < length && text.charAt(i) >= '0' && text.charAt(i) <= '9') {
+                rank = 10 * rank + (text.charAt(i++) - '0');
+            }
+
+            if (file < 0 || file >= files || rank < 1 || rank > ranks) {
+                throw invalidDiagram(text, offset);
+            }
+
+            kopoint = (rank - 1) * files + file;
+        } else {
+            throw invalidDiagram(text, offset);
+        }
+
+        if (i < length && text.charAt(i) != FIELD_SEPARATOR) {
+            throw invalidDiagram(text, offset);
+        }
+
+        game.setPosition(geometry, position[BLACK], position[WHITE], turn, kopoint);
+
+        return i;
+    }
+
+
+    /**
+     * Color of a stone symbol.
+     *
+     * @return          Stone color or {@code -1}
+     */
+    private static int toColor(char symbol) {
+        for (int color = 0; color < PIECE_COUNT; color++) {
+            if (PIECES[color] == symbol) {
+                return color;
+            }
+        }
+
+        return -1;
+    }
+
+
+    /**
+     * Converts a player symbol to a turn identifier.
+     */
+    private static int toTurn(char symbol, CharSequence text, int offset) {
+        if (symbol == SOUTH_SYMBOL) return SOUTH;
+        if (symbol == NORTH_SYMBOL) return NORTH;
+        throw invalidDiagram(text, offset);
+    }
+
+
+    /**
+     * Geometry of a board with the given number of files.
+     */
+    private static Geometry toGeometry(int files, CharSequence text, int offset) {
+        try {
+            return Geometry.of(files);
+        } catch (IllegalArgumentException e) {
+            throw invalidDiagram(text, offset);
+        }
+    }
+
+
+    /**
+     * Exception thrown when a diagram cannot be parsed.
+     */
+    private static IllegalArgumentException invalidDiagram(CharSequence text, int offset) {
+        return new IllegalArgumentException(
+            "Invalid diagram: " + text.subSequence(offset, text.length()));
+    }
+}
@@ -0,0 +1,290 @@
+package com.joansala.game.go;
+
+/*
+ * Aalina engine.
+ * Copyright (C) 2021-2024 Joan Sala Soler <contact@joansala.com>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+import com.joansala.util.bits.Bitset;
+import com.joansala.util.bits.BitsetConverter;
+import com.joansala.util.notation.CoordinateConverter;
+
+import static com.joansala.game.go.Go.*;
+
+
+/**
+ * Dimensions and notation of a square Go board.
+ *
+ * Intersections are numbered rank by rank starting on the lower left
+ * corner, and the move that follows the last intersection is used to
+ * forfeit the turn. Bitsets have enough words to store all the moves,
+ * so smaller boards use fewer words.
+ */
+public final class Geometry {
+
+    /** Files of the boards that can be played */
+    public static final int[] SIZES = { 9, 13, 19 };
+
+    /** Number of rotations and reflections of a square board */
+    public static final int SYMMETRIES = 8;
+
+    /** File names, from left to right */
+    private static final String LETTERS = "abcdefghjklmnopqrst";
+
+    /** Geometry of each supported board size */
+    private static final Geometry[] geometries = new Geometry[1 + BOARD_FILES];
+
+    /** Number of rows on the board */
+    private final int ranks;
+
+    /** Number of columns on the board */
+    private final int files;
+
+    /** Number of intersections on the board */
+    private final int size;
+
+    /** Number of words on each bitset */
+    private final int words;
+
+    /** Indexed board cell names */
+    private final String[] coordinates;
+
+    /** Bit indices of the intersections */
+    private final int[] bits;
+
+    /** Star point intersection indices */
+    private final int[] stars;
+
+    /** Image of each intersection on each symmetry */
+    private final int[][] symmetries;
+
+    /** Bitboard converter */
+    final BitsetConverter bitset;
+
+    /** Algebraic coordinates converter */
+    final CoordinateConverter algebraic;
+
+
+    static {
+        for (int files : SIZES) {
+            geometries[files] = new Geometry(files);
+        }
+    }
+
+
+    /**
+     * Creates the geometry of a square board.
+     *
+     * @param files     Number of files
+     */
+    private Geometry(int files) {
+        this.files = files;
+        this.ranks = files;
+        this.size = files * files;
+        this.words = (size + Long.SIZE) / Long.SIZE;
+        this.bits = createBits();
+        this.stars = createStars();
+        this.symmetries = createSymmetries();
+        this.coordinates = createCoordinates();
+        this.bitset = new BitsetConverter(bits);
+        this.algebraic = new CoordinateConverter(coordinates);
+    }
+
+
+    /**
+     * Obtain the geometry of a board size.
+     *
+     * @param files     Number of files of the board
+     * @return          Geometry instance
+     * @throws IllegalArgumentException If the size is not supported
+     */
+    public static Geometry of(int files) {
+        if (files < 0 || files >= geometries.length || geometries[files] == null) {
+            throw new IllegalArgumentException(
+                "Unsupported board size: " + files);
+        }
+
+        return geometries[files];
+    }
+
+
+    /**
+     * Number of rows on the board.
+     */
+    public int ranks() {
+        return ranks;
+    }
+
+
+    /**
+     * Number of columns on the board.
+     */
+    public int files() {
+        return files;
+    }
+
+
+    /**
+     * Number of intersections on the board.
+     */
+    public int size() {
+        return size;
+    }
+
+
+    /**
+     * Number of words on each bitset.
+     */
+    public int words() {
+        return words;
+    }
+
+
+    /**
+     * Move identifier of a player forfeiting its turn.
+     */
+    public int forfeit() {
+        return size;
+    }
+
+
+    /**
+     * Column of a file name.
+     *
+     * @param letter    File name
+     * @return          Column index or {@code -1}
+     */
+    static int toFile(char letter) {
+        return LETTERS.indexOf(letter);
+    }
+
+
+    /**
+     * Star point intersection indices.
+     */
+    int[] stars() {
+        return stars;
+    }
+
+
+    /**
+     * Image of each intersection on a symmetry of the board. The
+     * first symmetry is the identity.
+     *
+     * @param symmetry  Symmetry index
+     * @return          Intersection points permutation
+     */
+    int[] symmetry(int symmetry) {
+        return symmetries[symmetry];
+    }
+
+
+    /**
+     * Empty bitboards for the start position.
+     */
+    Bitset[] startPosition() {
+        return new Bitset[] {
+            new Bitset(words), // Black pieces
+            new Bitset(words)  // White pieces
+        };
+    }
+
+
+    /**
+     * Bit index of each intersection.
+     */
+    private int[] createBits() {
+        int[] bits = new int[size];
+
+        for (int point = 0; point < size; point++) {
+            bits[point] = point;
+        }
+
+        return bits;
+    }
+
+
+    /**
+     * Star points of the board. Large boards have nine of them, while
+     * smaller boards only mark the corner points and the center.
+     */
+    private int[] createStars() {
+        final int edge = (files < 13) ? 2 : 3;
+        final int[] lines = { edge, files / 2, files - 1 - edge };
+
+        if (files < BOARD_FILES) {
+            return new int[] {
+                lines[0] * files + lines[0],
+                lines[0] * files + lines[2],
+                lines[1] * files + lines[1],
+                lines[2] * files + lines[0],
+                lines[2] * files + lines[2]
+            };
+        }
+
+        int[] stars = new int[lines.length * lines.length];
+
+        for (int i = 0; i < stars.length; i++) {
+            stars[i] = lines[i / lines.length] * files + lines[i % lines.length];
+        }
+
+        return stars;
+    }
+
+
+    /**
+     * Permutations of the intersections for each rotation and mirror
+     * of the board. Odd symmetries mirror the files, the second pair
+     * mirrors the ranks and the last four transpose the board.
+     */
+    private int[][] createSymmetries() {
+        final int last = files - 1;
+        int[][] symmetries = new int[SYMMETRIES][size];
+
+        for (int point = 0; point < size; point++) {
+            final int file = point % files;
+            final int rank = point / files;
+
+            for (int symmetry = 0; symmetry < SYMMETRIES; symmetry++) {
+                int x = (symmetry & 4) == 0 ? file : rank;
+                int y = (symmetry & 4) == 0 ? rank : file;
+                if ((symmetry & 1) != 0) x = last - x;
+                if ((symmetry & 2) != 0) y = last - y;
+                symmetries[symmetry][point] = y * files + x;
+            }
+        }
+
+        return symmetries;
+    }
+
+
+    /**
+     * Algebraic coordinates of each intersection, followed by the
+     * coordinate of the forfeit move.
+     */
+    private String[] createCoordinates() {
+        String[] coordinates = new String[1 + size];
+
+        for (int point = 0; point < size; point++) {
+            final char letter = LETTERS.charAt(point % files);
+            coordinates[point] = letter + String.valueOf(1 + point / files);
+        }
+
+        coordinates[size] = "-";
+
+        return coordinates;
+    }
+}
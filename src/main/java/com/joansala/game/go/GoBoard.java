@@ -21,8 +21,6 @@ package com.joansala.game.go;
 import java.util.StringJoiner;
 import com.joansala.engine.base.BaseBoard;
 import com.joansala.util.bits.Bitset;
-import com.joansala.util.bits.BitsetConverter;
-import com.joansala.util.notation.CoordinateConverter;
 import com.joansala.util.notation.DiagramConverter;
 import static com.joansala.game.go.Go.*;
 import static com.joansala.game.go.GoGame.*;
@@ -33,15 +31,12 @@ import static com.joansala.game.go.GoGame.*;
  */
 public class GoBoard extends BaseBoard<Bitset[]> {
 
-    /** Bitboard converter */
-    private static BitsetConverter bitset;
-
-    /** Algebraic coordinates converter */
-    private static CoordinateConverter algebraic;
-
     /** Piece placement converter */
     private static DiagramConverter fen;
 
+    /** Board dimensions */
+    private final Geometry geometry;
+
     /** Ko point for current state */
     private int kopoint = -1;
 
@@ -50,8 +45,6 @@ public class GoBoard extends BaseBoard<Bitset[]> {
      * Initialize notation converters.
      */
     static {
-        bitset = new BitsetConverter(BITS);
-        algebraic = new CoordinateConverter(COORDINATES);
         fen = new DiagramConverter(PIECES);
     }
 
@@ -60,7 +53,28 @@ public class GoBoard extends BaseBoard<Bitset[]> {
      * Creates a new board for the start position.
      */
     public GoBoard() {
-        this(START_POSITION, SOUTH);
+        this(BOARD_FILES);
+    }
+
+
+    /**
+     * Creates a new board for the start position of a board size.
+     *
+     * @param files         Number of files of the board
+     * @throws IllegalArgumentException If the size is not supported
+     */
+    public GoBoard(int files) {
+        this(Geometry.of(files));
+    }
+
+
+    /**
+     * Creates a new board for the start position of a geometry.
+     *
+     * @param geometry      Board geometry
+     */
+    private GoBoard(Geometry geometry) {
+        this(geometry, geometry.startPosition(), SOUTH, -1);
     }
 
 
@@ -71,7 +85,7 @@ public class GoBoard extends BaseBoard<Bitset[]> {
      * @param turn          Player to move
      */
     public GoBoard(Bitset[] position, int turn) {
-        super(clone(position), turn);
+        this(position, turn, -1);
     }
 
 
@@ -83,7 +97,21 @@ public class GoBoard extends BaseBoard<Bitset[]> {
      * @param kopoint       Forbbiden intersection
      */
     public GoBoard(Bitset[] position, int turn, int kopoint) {
-        this(position, turn);
+        this(Geometry.of(BOARD_FILES), position, turn, kopoint);
+    }
+
+
+    /**
+     * Creates a new board instance.
+     *
+     * @param geometry      Board geometry
+     * @param position      Position array
+     * @param turn          Player to move
+     * @param kopoint       Forbbiden intersection
+     */
+    public GoBoard(Geometry geometry, Bitset[] position, int turn, int kopoint) {
+        super(clone(position), turn);
+        this.geometry = geometry;
         this.kopoint = kopoint;
     }
 
@@ -97,6 +125,14 @@ public class GoBoard extends BaseBoard<Bitset[]> {
     }
 
 
+    /**
+     * Dimensions of this board.
+     */
+    public Geometry geometry() {
+        return geometry;
+    }
+
+
     /**
      * Forbbiden move on current turn.
      */
@@ -110,7 +146,7 @@ public class GoBoard extends BaseBoard<Bitset[]> {
      */
     @Override
     public int toMove(String notation) {
-        return algebraic.toIndex(notation);
+        return geometry.algebraic.toIndex(notation);
     }
 
 
@@ -119,7 +155,7 @@ public class GoBoard extends BaseBoard<Bitset[]> {
      */
     @Override
     public String toCoordinates(int move) {
-        return algebraic.toCoordinate(move);
+        return geometry.algebraic.toCoordinate(move);
     }
 
 
@@ -130,11 +166,14 @@ public class GoBoard extends BaseBoard<Bitset[]> {
     public GoBoard toBoard(String notation) {
         String[] fields = notation.split(" ");
 
-        Bitset[] position = toPosition(fen.toArray(fields[0]));
+        int[][] occupants = fen.toArray(fields[0]);
+        GoBoard board = new GoBoard(occupants.length);
+
+        Bitset[] position = board.toPosition(occupants);
         int turn = toTurn(fields[1].charAt(0));
-        int kopoint = toKoPoint(fields[2]);
+        int kopoint = board.toKoPoint(fields[2]);
 
-        return new GoBoard(position, turn, kopoint);
+        return new GoBoard(board.geometry, position, turn, kopoint);
     }
 
 
@@ -165,8 +204,8 @@ public class GoBoard extends BaseBoard<Bitset[]> {
      * Bidimensional array of piece identifiers from bitboards.
      */
     private int[][] toOccupants(Bitset[] position) {
-        int[][] occupants = new int[BOARD_RANKS][BOARD_FILES];
-        return bitset.toOccupants(occupants, position);
+        int[][] occupants = new int[geometry.ranks()][geometry.files()];
+        return geometry.bitset.toOccupants(occupants, position);
     }
 
 
@@ -177,10 +216,10 @@ public class GoBoard extends BaseBoard<Bitset[]> {
         Bitset[] position = new Bitset[PIECE_COUNT];
 
         for (int i = 0; i < position.length; i++) {
-            position[i] = new Bitset(BITSET_SIZE);
+            position[i] = new Bitset(geometry.words());
         }
 
-        return bitset.toPosition(position, occupants);
+        return geometry.bitset.toPosition(position, occupants);
     }
 
 
@@ -211,16 +250,16 @@ public class GoBoard extends BaseBoard<Bitset[]> {
     /**
      * Converts a Ko target point to a coordinate.
      */
-    private static String toKoCoordinate(int point) {
-        return point == -1 ? "-" : algebraic.toCoordinate(point);
+    private String toKoCoordinate(int point) {
+        return point == -1 ? "-" : geometry.algebraic.toCoordinate(point);
     }
 
 
     /**
      * Converts a coodinate to a Ko target point.
      */
-    private static int toKoPoint(String coordinate) {
-        return "-".equals(coordinate) ? -1 : algebraic.toIndex(coordinate);
+    private int toKoPoint(String coordinate) {
+        return "-".equals(coordinate) ? -1 : geometry.algebraic.toIndex(coordinate);
     }
 
 
@@ -231,14 +270,14 @@ public class GoBoard extends BaseBoard<Bitset[]> {
      * @param symbols   Symbols array
      * @return          Symbols array
      */
-    private static Object[] replaceStars(String[] symbols) {
+    private Object[] replaceStars(String[] symbols) {
         for (int i = 0; i < symbols.length; i++) {
             if (symbols[i].charAt(0) == DiagramConverter.EMPTY_SYMBOL) {
                 symbols[i] = Character.toString(EMPTY_SYMBOL);
             }
         }
 
-        for (int i : STAR_POINTS) {
+        for (int i : geometry.stars()) {
             if (symbols[i].charAt(0) == EMPTY_SYMBOL) {
                 symbols[i] = Character.toString(STAR_SYMBOL);
             }
@@ -262,36 +301,44 @@ public class GoBoard extends BaseBoard<Bitset[]> {
     }
 
 
+    /**
+     * Text template to display the board, where each intersection
+     * is represented by a {@code #} symbol.
+     */
+    private String toTemplate() {
+        final int files = geometry.files();
+        final String border = "   +" + "-".repeat(1 + 2 * files) + "+%n";
+        StringBuilder template = new StringBuilder();
+
+        template.append("=".repeat(files - 5));
+        template.append("( %turn to move )");
+        template.append("=".repeat(files - 6)).append("%n");
+        template.append(border);
+
+        for (int rank = geometry.ranks(); rank > 0; rank--) {
+            template.append(String.format("%2d | ", rank));
+            template.append("# ".repeat(files)).append("|%n");
+        }
+
+        template.append(border).append("    ");
+
+        for (int file = 0; file < files; file++) {
+            template.append(' ').append(toCoordinates(file).charAt(0));
+        }
+
+        template.append(" %n");
+        template.append("=".repeat(6 + 2 * files));
+
+        return template.toString();
+    }
+
+
     /**
      * {@inheritDoc}
      */
     @Override
     public String toString() {
-        return String.format((
-            "==============( %turn to move )=============%n" +
-            "   +---------------------------------------+%n" +
-            "19 | # # # # # # # # # # # # # # # # # # # |%n" +
-            "18 | # # # # # # # # # # # # # # # # # # # |%n" +
-            "17 | # # # # # # # # # # # # # # # # # # # |%n" +
-            "16 | # # # # # # # # # # # # # # # # # # # |%n" +
-            "15 | # # # # # # # # # # # # # # # # # # # |%n" +
-            "14 | # # # # # # # # # # # # # # # # # # # |%n" +
-            "13 | # # # # # # # # # # # # # # # # # # # |%n" +
-            "12 | # # # # # # # # # # # # # # # # # # # |%n" +
-            "11 | # # # # # # # # # # # # # # # # # # # |%n" +
-            "10 | # # # # # # # # # # # # # # # # # # # |%n" +
-            " 9 | # # # # # # # # # # # # # # # # # # # |%n" +
-            " 8 | # # # # # # # # # # # # # # # # # # # |%n" +
-            " 7 | # # # # # # # # # # # # # # # # # # # |%n" +
-            " 6 | # # # # # # # # # # # # # # # # # # # |%n" +
-            " 5 | # # # # # # # # # # # # # # # # # # # |%n" +
-            " 4 | # # # # # # # # # # # # # # # # # # # |%n" +
-            " 3 | # # # # # # # # # # # # # # # # # # # |%n" +
-            " 2 | # # # # # # # # # # # # # # # # # # # |%n" +
-            " 1 | # # # # # # # # # # # # # # # # # # # |%n" +
-            "   +---------------------------------------+%n" +
-            "     a b c d e f g h j k l m n o p q r s t %n" +
-            "============================================").
+        return String.format(toTemplate().
             replaceAll("(#)", "%1s").
             replace("%turn", toPlayerName(turn)),
             replaceStars(toPieceSymbols(position))
@@ -19,17 +19,18 @@ package com.joansala.game.go;
  */
 
 import java.util.Arrays;
-import java.util.concurrent.atomic.AtomicLong;
 import com.joansala.engine.Board;
 import com.joansala.engine.Scorer;
 import com.joansala.engine.base.BaseGame;
 import com.joansala.util.hash.ZobristHash;
 import com.joansala.util.bits.Bitset;
 import com.joansala.game.go.Go.Player;
-import com.joansala.game.go.attacks.Point;
-import com.joansala.game.go.scorers.AreaScorer;
+import com.joansala.game.go.attacks.Flood;
+import com.joansala.game.go.scorers.BensonScorer;
+import com.joansala.game.go.scorers.TrompTaylorScorer;
 
 import static com.joansala.game.go.Go.*;
+import static com.joansala.game.go.Mailbox.*;
 
 
 /**
@@ -43,35 +44,128 @@ public class GoGame extends BaseGame {
     /** Capacity increases at least this value each time */
     private static final int CAPACITY_INCREMENT = 128;
 
-    /** Heuristic evaluation function */
-    private static final Scorer<GoGame> scorer = scoreFunction();
+    /** Terminal status of the position was not checked */
+    private static final int UNKNOWN = 0;
+
+    /** The position is not terminal */
+    private static final int PLAYING = 1;
+
+    /** The position is terminal */
+    private static final int ENDED = 2;
 
     /** Hash code generator */
     private static final ZobristHash hasher = hashFunction();
 
-    /** Start position and turn */
+    /** Hash code generator for the second word of wide keys */
+    private static final ZobristHash wideHasher = wideHashFunction();
+
+    /** Scores of the positions evaluated by any game */
+    private static final ScoreCache cache = new ScoreCache(ScoreCache.DEFAULT_SIZE);
+
+    /** Legal moves of the positions generated by any game */
+    private static final MoveCache moveCache = new MoveCache(MoveCache.DEFAULT_SIZE);
+
+    /** Evaluation function for final positions */
+    private Scorer<GoGame> scorer = scoreFunction();
+
+    /** Evaluation function for interior positions or null */
+    private Scorer<GoGame> heuristic = null;
+
+    /** Start position and turn or null if not created yet */
     private GoBoard board;
 
+    /** Start position bitboards */
+    private long[][] origin;
+
+    /** Player to move on the start position */
+    private int originTurn;
+
+    /** Ko point of the start position */
+    private int originKopoint;
+
     /** Player to move */
     private Player player;
 
     /** Player to move opponent */
     private Player rival;
 
-    /** Move generation cursors */
-    private int[] cursors;
+    /** Game state and captured stones history */
+    private final History history;
+
+    /** Current position bitboards */
+    private Bitset[] state;
+
+    /** Hashes of the previous positions on the history */
+    private final PositionIndex positions;
 
-    /** Ko point history */
-    private int[] kopoints;
+    /** Dimensions of the board being played */
+    private Geometry geometry;
 
-    /** Hash code history */
-    private long[] hashes;
+    /** Bitboard operations for the board */
+    private Flood flood;
 
-    /** Position bitboards history */
-    private long[] states;
+    /** Contents of each intersection of the current position */
+    private Mailbox mailbox;
 
-    /** Current position bitboards */
-    private Bitset[] state;
+    /** Chains of stones on the current position */
+    private Chains chains;
+
+    /** Owners of the empty regions of the current position */
+    private Territory territory;
+
+    /** Hashes of the current position on each symmetry */
+    private Symmetries symmetries;
+
+    /** Unconditional life analyzer */
+    private Benson benson;
+
+    /** If the analyzer holds the analysis of a position */
+    private boolean analyzed = false;
+
+    /** Hash of the position the analyzer holds */
+    private long analyzedHash;
+
+    /** If positions are identified by 128-bit keys */
+    private boolean wideKeys = false;
+
+    /** Second word of the current position key or zero */
+    private long wideHash = 0L;
+
+    /** If moves on settled points are not generated */
+    private boolean pruneSettled = false;
+
+    /** If moves on seki points are not generated */
+    private boolean pruneSeki = false;
+
+    /** Legal moves of the current position */
+    private long[] legals;
+
+    /** Empty points of the current position */
+    private long[] empty;
+
+    /** Working space for bitboard operations */
+    private long[] scratch;
+
+    /** Points owned by black on the current position */
+    private long[] blackArea;
+
+    /** Points owned by white on the current position */
+    private long[] whiteArea;
+
+    /** Move identifier to forfeit the turn */
+    private int forfeit;
+
+    /** If legal moves were generated for the current position */
+    private boolean generated = false;
+
+    /** Terminal status of the current position */
+    private int status = UNKNOWN;
+
+    /** If the outcome of the current position was computed */
+    private boolean scored = false;
+
+    /** Outcome of the current position */
+    private int result;
 
     /** Current move generation cursor */
     private int cursor;
@@ -79,9 +173,27 @@ public class GoGame extends BaseGame {
     /** Current illegal ko move */
     private int kopoint;
 
+    /** Last history ply where stones were captured */
+    private int lastCapture;
+
+    /** Number of stones on the captures journal */
+    private int entries;
+
+    /** Cache key sign of the board size */
+    private long sizeSign;
+
+    /** Cache key sign of the final positions scorer */
+    private long scorerSign = FINAL_SIGN;
+
     /** Compensation score for white */
     private int komi = DEFAULT_KOMI;
 
+    /** Stone difference that ends the game or zero */
+    private int mercy = 0;
+
+    /** Number of black stones minus white stones on the board */
+    private int balance;
+
 
     /**
      * Instantiate a new game on the start state.
@@ -98,10 +210,8 @@ public class GoGame extends BaseGame {
      */
     public GoGame(int capacity) {
         super(capacity);
-        cursors = new int[capacity];
-        kopoints = new int[capacity];
-        hashes = new long[capacity];
-        states = new long[capacity * BITSET_SIZE << 1];
+        history = new History(capacity);
+        positions = new PositionIndex(capacity);
         setBoard(new GoBoard());
     }
 
@@ -120,6 +230,13 @@ public class GoGame extends BaseGame {
      */
     @Override
     public Board getBoard() {
+        if (board == null) {
+            Bitset[] position = geometry.startPosition();
+            position[BLACK].copyFrom(origin[BLACK], 0);
+            position[WHITE].copyFrom(origin[WHITE], 0);
+            board = new GoBoard(geometry, position, originTurn, originKopoint);
+        }
+
         return board;
     }
 
@@ -137,18 +254,146 @@ public class GoGame extends BaseGame {
      * {@see #setBoard(Board)}
      */
     public void setBoard(GoBoard board) {
-        this.index = -1;
+        if (board.geometry() != geometry) {
+            setGeometry(board.geometry());
+        }
+
         this.board = board;
-        this.move = NULL_MOVE;
-        this.kopoint = board.kopoint();
         this.state = board.position();
+        resetPosition(board.turn(), board.kopoint());
+    }
+
+
+    /**
+     * Sets the start position from its bitboards without creating a
+     * board instance, reusing the representations of the current one
+     * if the geometry does not change. The board is only created if
+     * it is requested afterwards.
+     *
+     * @param geometry      Board geometry
+     * @param black         Black stones bitboard
+     * @param white         White stones bitboard
+     * @param turn          Player to move
+     * @param kopoint       Forbidden intersection
+     */
+    void setPosition(Geometry geometry, long[] black, long[] white, int turn, int kopoint) {
+        if (geometry != this.geometry) {
+            setGeometry(geometry);
+            this.state = geometry.startPosition();
+        }
+
+        System.arraycopy(black, 0, origin[BLACK], 0, geometry.words());
+        System.arraycopy(white, 0, origin[WHITE], 0, geometry.words());
+        state[BLACK].copyFrom(black, 0);
+        state[WHITE].copyFrom(white, 0);
+
+        this.board = null;
+        this.originTurn = turn;
+        this.originKopoint = kopoint;
+        resetPosition(turn, kopoint);
+    }
+
 
-        setTurn(board.turn());
+    /**
+     * Initializes the game state from the stones on the current
+     * position bitboards, as the start of a new game.
+     *
+     * @param turn          Player to move
+     * @param kopoint       Forbidden intersection
+     */
+    private void resetPosition(int turn, int kopoint) {
+        this.index = -1;
+        this.move = NULL_MOVE;
+        this.kopoint = kopoint;
+        this.lastCapture = NULL_MOVE;
+        this.entries = 0;
+        this.analyzed = false;
+        this.balance = state[BLACK].count() - state[WHITE].count();
+
+        setTurn(turn);
+        mailbox.reset(state);
+        chains.reset(state);
+        territory.reset();
+        positions.clear();
         hash = computeHash();
+        wideHash = wideKeys ? computeWideHash() : 0L;
+        symmetries.reset(state, player.sign);
+        generated = false;
+        resetStatus();
         resetCursor();
     }
 
 
+    /**
+     * Allocates the position representations for a board size.
+     *
+     * @param geometry      Board geometry
+     */
+    private void setGeometry(Geometry geometry) {
+        this.geometry = geometry;
+        this.forfeit = geometry.forfeit();
+        this.sizeSign = geometry.files() * SIZE_SIGN;
+        this.flood = Flood.of(geometry);
+        this.mailbox = new Mailbox(geometry);
+        this.chains = new Chains(geometry, mailbox);
+        this.territory = new Territory(geometry);
+        this.benson = new Benson(geometry);
+        this.analyzed = false;
+        this.symmetries = new Symmetries(geometry, hasher);
+        this.legals = new long[geometry.words()];
+        this.empty = new long[geometry.words()];
+        this.scratch = new long[geometry.words()];
+        this.blackArea = new long[geometry.words()];
+        this.whiteArea = new long[geometry.words()];
+        this.origin = new long[PIECE_COUNT][geometry.words()];
+    }
+
+
+    /**
+     * Dimensions of the board being played.
+     *
+     * @return          Board geometry
+     */
+    public Geometry geometry() {
+        return geometry;
+    }
+
+
+    /**
+     * Forbidden ko point of the current position.
+     *
+     * @return          Intersection point or {@code NULL_MOVE}
+     */
+    int kopoint() {
+        return kopoint;
+    }
+
+
+    /**
+     * Compensation score for white.
+     */
+    int komi() {
+        return komi;
+    }
+
+
+    /**
+     * If final positions are scored counting settled points for
+     * their owners.
+     */
+    boolean settledPruning() {
+        return pruneSettled;
+    }
+
+
+    /**
+     * Stone difference that ends the game or zero.
+     */
+    int mercy() {
+        return mercy;
+    }
+
+
     /**
      * Sets the current player to move.
      *
@@ -180,6 +425,72 @@ public class GoGame extends BaseGame {
      */
     public void setKomiScore(int komi) {
         this.komi = komi;
+        this.scored = false;
+    }
+
+
+    /**
+     * Sets if moves on seki points must be skipped by the move
+     * generator. Playing on those points only gives the rival a
+     * chance to capture, so random playouts skip them and end once
+     * the remaining empty points are eyes or shared liberties. The
+     * skipped moves are still legal for {@link #isLegal(int)}.
+     *
+     * @param prune         If seki points must be skipped
+     */
+    public void setSekiPruning(boolean prune) {
+        this.pruneSeki = prune;
+        this.generated = false;
+    }
+
+
+    /**
+     * Sets the mercy threshold. The game ends as soon as a player has
+     * more stones on the board than its rival plus this threshold, and
+     * the player with more stones wins it. A value of zero disables
+     * the mercy rule.
+     *
+     * @param mercy         Stone difference or zero
+     */
+    public void setMercyThreshold(int mercy) {
+        this.mercy = mercy;
+        resetStatus();
+
+        for (int ply = 0; ply <= index; ply++) {
+            history.setStatus(ply, UNKNOWN);
+        }
+    }
+
+
+    /**
+     * Sets if moves on points that are settled for any of the players
+     * must be skipped by the move generator. Those moves cannot change
+     * the outcome of the game, so skipping them shortens playouts. When
+     * enabled, final positions are scored counting settled points for
+     * their owners, since rival stones placed on them are dead. The
+     * skipped moves are still legal for {@link #isLegal(int)}.
+     *
+     * @param prune         If settled points must be skipped
+     */
+    public void setSettledPruning(boolean prune) {
+        this.pruneSettled = prune;
+        this.scorer = prune ? new BensonScorer() : scoreFunction();
+        this.scorerSign = prune ? SETTLED_SIGN : FINAL_SIGN;
+        this.generated = false;
+        this.scored = false;
+    }
+
+
+    /**
+     * Sets the function that evaluates positions that are not final.
+     * When null, positions are evaluated by their exact area score,
+     * which is cached and updated incrementally. Otherwise the given
+     * scorer estimates the score on each call.
+     *
+     * @param heuristic     Evaluation function or null
+     */
+    public void setHeuristic(Scorer<GoGame> heuristic) {
+        this.heuristic = heuristic;
     }
 
 
@@ -188,12 +499,19 @@ public class GoGame extends BaseGame {
      */
     @Override
     public GoBoard toBoard() {
-        return new GoBoard(state, turn);
+        return new GoBoard(geometry, state, player.turn, NULL_MOVE);
     }
 
 
     /**
-     * {@inheritDoc}
+     * Check if a move is allowed by the rules on the current position.
+     *
+     * Only the rules are checked. Moves that the move generator skips
+     * when seki or settled points pruning are enabled are still legal,
+     * so the moves of a rival are never rejected because of them.
+     *
+     * @param move          Move identifier
+     * @return              If the move can be played
      */
     @Override
     public boolean isLegal(int move) {
@@ -214,6 +532,20 @@ public class GoGame extends BaseGame {
      */
     @Override
     public boolean hasEnded() {
+        if (status == UNKNOWN) {
+            status = isTerminal() ? ENDED : PLAYING;
+        }
+
+        return status == ENDED;
+    }
+
+
+    /**
+     * Check if the current position is terminal. That is, if both
+     * players forfeited their turns, the mercy rule applies or the
+     * position was repeated.
+     */
+    private boolean isTerminal() {
         if (index < 0) {
             return false;
         }
@@ -222,7 +554,15 @@ public class GoGame extends BaseGame {
             return true;
         }
 
-        return isRepetition();
+        return isMercy() || isRepetition();
+    }
+
+
+    /**
+     * Check if the stone difference exceeds the mercy threshold.
+     */
+    private boolean isMercy() {
+        return mercy > 0 && Math.abs(balance) > mercy;
     }
 
 
@@ -230,7 +570,7 @@ public class GoGame extends BaseGame {
      * Check if it is a forfeit move identifier.
      */
     public boolean isForfeit(int move) {
-        return move == FORFEIT_MOVE;
+        return move == forfeit;
     }
 
 
@@ -246,8 +586,204 @@ public class GoGame extends BaseGame {
      * Check if an intersection does not contain any stones.
      */
     public boolean isEmptyPoint(int index) {
-       return !state[BLACK].contains(index) &&
-              !state[WHITE].contains(index);
+       return mailbox.isEmpty(index);
+    }
+
+
+    /**
+     * Liberty of the chain of a stone if the chain is in atari. The
+     * point is obtained in constant time from the pseudo-liberties of
+     * the chain.
+     *
+     * @param point     Intersection point
+     * @return          Intersection point or {@code NULL_MOVE} if the
+     *                  point is empty or its chain has more liberties
+     */
+    public int lastLiberty(int point) {
+        if (mailbox.isEmpty(point) || !chains.isAtari(point)) {
+            return NULL_MOVE;
+        }
+
+        return chains.lastLiberty(point);
+    }
+
+
+    /**
+     * Computes the set of legal moves for the player to move, including
+     * the forfeit move, and stores it on the given bitset.
+     *
+     * @param moves     Bitset with a word for each board word
+     * @return          The given bitset
+     */
+    public Bitset legalMoves(Bitset moves) {
+        if (generated == false) {
+            generateMoves();
+        }
+
+        moves.copyFrom(legals, 0);
+        return moves;
+    }
+
+
+    /**
+     * Obtains the legal moves of the current position, looking them
+     * up on the shared moves cache before they are computed.
+     */
+    private void generateMoves() {
+        final long key = movesKey();
+
+        if (moveCache.get(key, legals) == false) {
+            computeMoves();
+            moveCache.put(key, legals);
+        }
+
+        generated = true;
+    }
+
+
+    /**
+     * Key of the legal moves of the current position on the moves
+     * cache. Legal moves depend on the stones, the player to move and
+     * the ko point, and on the moves that are being pruned.
+     */
+    private long movesKey() {
+        long key = hash ^ sizeSign ^ (KOPOINT_SIGN * (1 + kopoint));
+
+        if (pruneSettled) key ^= SETTLED_SIGN;
+        if (pruneSeki) key ^= SEKI_SIGN;
+
+        return key;
+    }
+
+
+    /**
+     * Computes the legal moves of the current position at once. Empty
+     * points with an empty neighbor are always legal, so only the points
+     * that are surrounded by stones are checked for suicide.
+     */
+    private void computeMoves() {
+        flood.copy(state[BLACK], empty);
+        flood.copy(state[WHITE], scratch);
+        flood.empty(empty, scratch, empty);
+        flood.neighbors(empty, scratch);
+
+        for (int i = 0; i < legals.length; i++) {
+            long surrounded = empty[i] & ~scratch[i];
+            legals[i] = empty[i] & scratch[i];
+
+            while (surrounded != 0L) {
+                final long bit = Long.lowestOneBit(surrounded);
+                final int point = (i << 6) + Long.numberOfTrailingZeros(bit);
+
+                if (!isSuicide(player.color, point)) {
+                    legals[i] |= bit;
+                }
+
+                surrounded ^= bit;
+            }
+        }
+
+        if (kopoint != NULL_MOVE) {
+            legals[kopoint >> 6] &= ~(1L << kopoint);
+        }
+
+        if (pruneSettled) {
+            pruneSettled();
+        }
+
+        if (pruneSeki) {
+            pruneSeki();
+        }
+
+        legals[forfeit >> 6] |= 1L << forfeit;
+    }
+
+
+    /**
+     * Analysis of the unconditional life of the current position with
+     * Benson's algorithm. The analysis is kept until the position
+     * changes, so move generation and scoring of the same position
+     * share a single analysis.
+     *
+     * @return          Analyzer holding the analysis
+     */
+    public Benson lifeAnalysis() {
+        if (analyzed == false || analyzedHash != hash) {
+            benson.analyze(state[BLACK], state[WHITE]);
+            analyzedHash = hash;
+            analyzed = true;
+        }
+
+        return benson;
+    }
+
+
+    /**
+     * Removes from the legal moves the points that are settled for
+     * any of the players.
+     */
+    private void pruneSettled() {
+        final Benson benson = lifeAnalysis();
+
+        final long[] black = benson.settled(BLACK);
+        final long[] white = benson.settled(WHITE);
+
+        for (int i = 0; i < legals.length; i++) {
+            legals[i] &= ~(black[i] | white[i]);
+        }
+    }
+
+
+    /**
+     * Removes from the legal moves the points that are liberties
+     * shared by chains in seki. Only points next to stones of both
+     * colors can be shared liberties, so only those are checked.
+     */
+    private void pruneSeki() {
+        flood.copy(state[BLACK], blackArea);
+        flood.copy(state[WHITE], whiteArea);
+        flood.neighbors(blackArea, empty);
+        flood.neighbors(whiteArea, scratch);
+
+        for (int i = 0; i < legals.length; i++) {
+            long shared = legals[i] & empty[i] & scratch[i];
+
+            while (shared != 0L) {
+                final long bit = Long.lowestOneBit(shared);
+                final int point = (i << 6) + Long.numberOfTrailingZeros(bit);
+
+                if (isSekiPoint(point)) {
+                    legals[i] &= ~bit;
+                }
+
+                shared ^= bit;
+            }
+        }
+    }
+
+
+    /**
+     * Check if an empty point is a liberty shared by chains of both
+     * colors where none of the players can play without leaving its
+     * own chain in atari. Those chains live in seki as long as none
+     * of the players fills the point.
+     *
+     * @param point         Empty intersection point
+     */
+    public boolean isSekiPoint(int point) {
+        final int cell = mailbox.cell(point);
+        boolean black = false;
+        boolean white = false;
+
+        for (int offset : mailbox.offsets) {
+            final int contents = mailbox.contents(cell + offset);
+            black |= (contents == BLACK);
+            white |= (contents == WHITE);
+        }
+
+        return black && white &&
+            chains.isSelfAtari(point, BLACK) &&
+            chains.isSelfAtari(point, WHITE);
     }
 
 
@@ -256,19 +792,34 @@ public class GoGame extends BaseGame {
      * That is, if the move would not capture any rival stones and the
      * chain of the placed stone would have no liberties.
      *
+     * A point with an empty neighbor is never a suicide, so neighbor
+     * chains are only looked up when the point is fully surrounded.
+     * This method does not allocate any objects.
+     *
      * @param color         Stone color
      * @param point         Intersection point
      */
     private boolean isSuicide(int color, int point) {
-        Chain chain = chain(color, point);
+        final int cell = mailbox.cell(point);
 
-        if (chain.liberties.count() != 0) {
-            return false;
+        for (int offset : mailbox.offsets) {
+            if (mailbox.contents(cell + offset) == EMPTY) {
+                return false;
+            }
         }
 
-        for (int neighbor: Point.attacks(point)) {
-            if (state[1 ^ color].contains(neighbor)) {
-                if (chain(1 ^ color, neighbor).isInAtari()) {
+        for (int offset : mailbox.offsets) {
+            final int contents = mailbox.contents(cell + offset);
+
+            if (contents != EDGE) {
+                final int neighbor = mailbox.point(cell + offset);
+                final boolean atari = chains.isAtari(neighbor);
+
+                if (contents == color) {
+                    if (atari == false) {
+                        return false;
+                    }
+                } else if (atari == true) {
                     return false;
                 }
             }
@@ -281,18 +832,18 @@ public class GoGame extends BaseGame {
     /**
      * Checks if the same state occurred before.
      *
+     * A position can only be repeated if stones were removed from the
+     * board after it occurred, thus the index of previous positions is
+     * only looked up if there were captures on the history.
+     *
      * @return      If a repetition occurred
      */
     private boolean isRepetition() {
-        for (int n = index - 1; n >= 0; n--) {
-            if (moves[n] != FORFEIT_MOVE) {
-                if (hashes[n] == this.hash) {
-                    return true;
-                }
-            }
+        if (lastCapture == NULL_MOVE) {
+            return false;
         }
 
-        return false;
+        return positions.contains(hash, wideHash);
     }
 
 
@@ -367,7 +918,24 @@ public class GoGame extends BaseGame {
      */
     @Override
     public int outcome() {
-        int score = scorer.evaluate(this) - komi;
+        if (scored == false) {
+            result = computeOutcome();
+            scored = true;
+        }
+
+        return result;
+    }
+
+
+    /**
+     * Computes the outcome of the current position.
+     */
+    private int computeOutcome() {
+        if (isMercy()) {
+            return balance > 0 ? INFINITY_SCORE : -INFINITY_SCORE;
+        }
+
+        int score = finalScore() - komi;
         if (score < DRAW_SCORE) return -INFINITY_SCORE;
         if (score > DRAW_SCORE) return INFINITY_SCORE;
         return DRAW_SCORE;
@@ -379,7 +947,146 @@ public class GoGame extends BaseGame {
      */
     @Override
     public int score() {
-        return scorer.evaluate(this) - komi;
+        if (heuristic != null) {
+            return heuristic.evaluate(this) - komi;
+        }
+
+        return areaScore() - komi;
+    }
+
+
+    /**
+     * Area score of the current position without komi, looked up on
+     * the shared scores cache before it is computed.
+     */
+    private int areaScore() {
+        final long key = hash ^ sizeSign ^ AREA_SIGN;
+        int score = cache.get(key);
+
+        if (score == ScoreCache.MISSING) {
+            score = territory.evaluate(state);
+            cache.put(key, score);
+        }
+
+        return score;
+    }
+
+
+    /**
+     * Score of the current position without komi as evaluated by the
+     * final positions scorer, looked up on the shared scores cache
+     * before it is computed.
+     */
+    private int finalScore() {
+        final long key = hash ^ sizeSign ^ scorerSign;
+        int score = cache.get(key);
+
+        if (score == ScoreCache.MISSING) {
+            score = scorer.evaluate(this);
+            cache.put(key, score);
+        }
+
+        return score;
+    }
+
+
+    /**
+     * Sets if positions must be identified by 128-bit keys. The first
+     * word of a key is the regular hash of the position and the second
+     * one is computed from an independent set of Zobrist keys. Wide
+     * keys are used to detect repetitions and make collisions unlikely
+     * on very large tables, at a small cost on each move.
+     *
+     * The moves played on the current game are replayed, so the keys
+     * of the positions on the history are computed again.
+     *
+     * @param wide          If 128-bit keys must be used
+     */
+    public void setWideKeys(boolean wide) {
+        if (wide != wideKeys) {
+            final int[] played = new int[1 + index];
+
+            for (int n = 0; n < index; n++) {
+                played[n] = moves[1 + n];
+            }
+
+            if (index >= 0) {
+                played[index] = move;
+            }
+
+            wideKeys = wide;
+            setBoard((GoBoard) getBoard());
+
+            for (int move : played) {
+                makeMove(move);
+            }
+        }
+    }
+
+
+    /**
+     * Second word of the 128-bit key of the current position. This is
+     * always zero unless wide keys are enabled.
+     *
+     * @return              Position hash
+     * @see #setWideKeys(boolean)
+     */
+    public long wideHash() {
+        return wideHash;
+    }
+
+
+    /**
+     * Hash of the current position as seen on a rotation or mirror of
+     * the board. The identity symmetry, at index zero, is the same as
+     * the position hash.
+     *
+     * @param symmetry      Symmetry index on {@code [0, 8)}
+     * @return              Position hash
+     */
+    public long hash(int symmetry) {
+        return symmetries.hash(symmetry);
+    }
+
+
+    /**
+     * Hash shared by the current position and all its rotations and
+     * mirrors. It can be used as the key of tables that store entries
+     * for the position regardless of its orientation.
+     *
+     * @return              Smallest of the symmetric hashes
+     */
+    public long canonicalHash() {
+        return symmetries.canonical();
+    }
+
+
+    /**
+     * Adds the points owned by each player on the current position
+     * to an ownership map. This is meant to be called on the final
+     * position of each playout.
+     *
+     * @param ownership     Ownership map of the board
+     */
+    public void accumulate(Ownership ownership) {
+        territory.areas(state, blackArea, whiteArea);
+        ownership.add(blackArea, whiteArea);
+    }
+
+
+    /**
+     * Scores cache shared by all the game instances.
+     */
+    public static ScoreCache scoreCache() {
+        return cache;
+    }
+
+
+    /**
+     * Legal moves cache shared by all the game instances.
+     */
+    public static MoveCache moveCache() {
+        return moveCache;
     }
 
 
@@ -419,6 +1126,8 @@ public class GoGame extends BaseGame {
         movePieces(move);
         switchTurn();
         this.move = move;
+        generated = false;
+        resetStatus();
         resetCursor();
     }
 
@@ -428,9 +1137,18 @@ public class GoGame extends BaseGame {
      */
     @Override
     public void unmakeMove() {
-        popState(index);
+        final int move = this.move;
+
+        forgetState(index);
         switchTurn();
+        popState(index);
+        generated = false;
+        scored = false;
         index--;
+
+        if (move != forfeit) {
+            chains.restore(move);
+        }
     }
 
 
@@ -440,9 +1158,16 @@ public class GoGame extends BaseGame {
     @Override
     public void unmakeMoves(int length) {
         if (length > 0) {
-            index -= length;
-            setTurn((length & 1) == 0 ? turn() : -turn());
-            popState(1 + index);
+            for (int n = 0; n < length; n++) {
+                forgetState(index);
+                switchTurn();
+                popState(index);
+                index--;
+            }
+
+            chains.reset(state);
+            generated = false;
+            scored = false;
         }
     }
 
@@ -452,13 +1177,38 @@ public class GoGame extends BaseGame {
      */
     @Override
     public int nextMove() {
-        while (cursor < FORFEIT_MOVE) {
-            if (isLegal(++cursor)) {
-                return cursor;
+        if (cursor >= forfeit) {
+            return NULL_MOVE;
+        }
+
+        if (generated == false) {
+            generateMoves();
+        }
+
+        final int from = cursor + 1;
+        long word = legals[from >> 6] & (-1L << from);
+        int i = from >> 6;
+
+        while (word == 0L) {
+            if (++i == legals.length) {
+                return NULL_MOVE;
             }
+
+            word = legals[i];
         }
 
-        return NULL_MOVE;
+        cursor = (i << 6) + Long.numberOfTrailingZeros(word);
+
+        return cursor;
+    }
+
+
+    /**
+     * Forgets the terminal status and outcome of the position.
+     */
+    private void resetStatus() {
+        status = UNKNOWN;
+        scored = false;
     }
 
 
@@ -472,36 +1222,47 @@ public class GoGame extends BaseGame {
 
         hash ^= rival.sign;
         hash ^= player.sign;
+        symmetries.toggle(rival.sign ^ player.sign);
+
+        if (wideKeys) {
+            wideHash ^= rival.wide ^ player.wide;
+        }
 
         // Player forfeits the turn
 
-        if (move == FORFEIT_MOVE) {
+        if (move == forfeit) {
             return;
         }
 
-        // Remove captures and place a new stone
+        // Place a new stone and remove captures
 
+        final int cell = mailbox.cell(move);
         int captures = 0;
 
-        for (int point : Point.attacks(move)) {
-            if (state[rival.color].contains(point)) {
-                Chain chain = chain(rival.color, point);
+        place(move);
+        chains.place(move, player.color);
+
+        for (int offset : mailbox.offsets) {
+            if (mailbox.contents(cell + offset) == rival.color) {
+                final int point = mailbox.point(cell + offset);
 
-                if (chain.isInAtari()) {
-                    chain.stones.forEach(i -> capture(i));
+                if (chains.isCaptured(point)) {
+                    captureChain(point);
                     this.kopoint = point;
                     captures++;
                 }
             }
         }
 
-        place(move);
-
         // Clear ko point
 
         if (captures != 1) {
             this.kopoint = NULL_MOVE;
         }
+
+        if (captures != 0) {
+            this.lastCapture = index;
+        }
     }
 
 
@@ -510,51 +1271,51 @@ public class GoGame extends BaseGame {
      */
     private void place(int point) {
         state[player.color].insert(point);
+        mailbox.insert(point, player.color);
+        territory.touch(point);
+        balance += player.turn;
         hash = hasher.insert(hash, point, player.color);
+        symmetries.toggle(point, player.color);
+
+        if (wideKeys) {
+            wideHash = wideHasher.insert(wideHash, point, player.color);
+        }
     }
 
 
     /**
-     * Removes a piece of the rival player from a point.
+     * Removes a piece of the rival player from a point and records
+     * it on the captures journal.
      */
     private void capture(int point) {
         state[rival.color].toggle(point);
+        mailbox.remove(point);
+        territory.touch(point);
+        balance -= rival.turn;
         hash = hasher.remove(hash, point, rival.color);
-    }
+        symmetries.toggle(point, rival.color);
+        history.record(entries++, point);
 
-
-    /**
-     * Build a chain of stones starting at the given point. This method
-     * assumes there is a stone of the given color on the point.
-     *
-     * @param color         Color of stones
-     * @param point         Start point
-     */
-    private Chain chain(int color, int point) {
-        final Chain chain = new Chain();
-        chain(chain, color, point);
-        return chain;
+        if (wideKeys) {
+            wideHash = wideHasher.remove(wideHash, point, rival.color);
+        }
     }
 
 
     /**
-     * Recursively fills a chain starting from a point.
+     * Removes all the stones of a rival chain from the board.
      *
-     * @param color         Color of stones
-     * @param point         Start point
+     * @param point     A stone of the chain
      */
-    private void chain(Chain chain, int color, int point) {
-        chain.stones.insert(point);
+    private void captureChain(int point) {
+        int stone = point;
 
-        for (int neighbor : Point.attacks(point)) {
-            if (chain.stones.contains(neighbor) == false) {
-                if (state[color].contains(neighbor)) {
-                    chain(chain, color, neighbor);
-                } else if (!state[1 ^ color].contains(neighbor)) {
-                    chain.liberties.insert(neighbor);
-                }
-            }
-        }
+        do {
+            capture(stone);
+            stone = chains.next(stone);
+        } while (stone != point);
+
+        chains.remove(point);
     }
 
 
@@ -564,27 +1325,57 @@ public class GoGame extends BaseGame {
     private void pushState() {
         index++;
         moves[index] = move;
-        hashes[index] = hash;
-        cursors[index] = cursor;
-        kopoints[index] = kopoint;
+        history.store(index, hash, wideHash, cursor, kopoint, lastCapture, entries, status);
+
+        if (move != forfeit) {
+            positions.insert(hash, wideHash);
+        }
+    }
+
 
-        final int i = index * BITSET_SIZE << 1;
-        state[WHITE].copyTo(states, i + BITSET_SIZE);
-        state[BLACK].copyTo(states, i);
+    /**
+     * Remove a position stored on the history from the index of
+     * previous positions.
+     */
+    private void forgetState(int index) {
+        if (moves[index] != forfeit) {
+            positions.remove(history.hash(index), history.check(index));
+        }
     }
 
 
     /**
-     * Retrieve the current game state from the history.
+     * Retrieve the current game state from the history. The last move
+     * is taken back by removing the stone it placed and putting back
+     * the stones it captured, so the turn must be already switched to
+     * the player that performed it.
      */
     private void popState(int index) {
-        final int i = index * BITSET_SIZE << 1;
-        state[WHITE].copyFrom(states, i + BITSET_SIZE);
-        state[BLACK].copyFrom(states, i);
+        symmetries.toggle(rival.sign ^ player.sign);
+
+        if (move != forfeit) {
+            state[player.color].remove(move);
+            mailbox.remove(move);
+            territory.touch(move);
+            symmetries.toggle(move, player.color);
+            balance -= player.turn;
+
+            while (entries > history.offset(index)) {
+                final int point = history.point(--entries);
+                state[rival.color].insert(point);
+                mailbox.insert(point, rival.color);
+                territory.touch(point);
+                symmetries.toggle(point, rival.color);
+                balance += rival.turn;
+            }
+        }
 
-        kopoint = kopoints[index];
-        cursor = cursors[index];
-        hash = hashes[index];
+        kopoint = history.kopoint(index);
+        lastCapture = history.capture(index);
+        cursor = history.cursor(index);
+        status = history.status(index);
+        hash = history.hash(index);
+        wideHash = history.check(index);
         move = moves[index];
     }
 
@@ -594,18 +1385,40 @@ public class GoGame extends BaseGame {
      */
     @Override
     protected long computeHash() {
-        AtomicLong hash = new AtomicLong(player.sign);
+        return computeHash(hasher, player.sign);
+    }
+
+
+    /**
+     * Computes the second word of the current position key.
+     */
+    private long computeWideHash() {
+        return computeHash(wideHasher, player.wide);
+    }
+
+
+    /**
+     * Computes the hash of the current position with the given keys.
+     *
+     * @param hasher    Hash code generator
+     * @param sign      Hash sign of the player to move
+     */
+    private long computeHash(ZobristHash hasher, long sign) {
+        long hash = sign;
 
         for (int piece = 0; piece < PIECE_COUNT; piece++) {
-            final int stone = piece;
+            for (int i = 0; i < geometry.words(); i++) {
+                long word = state[piece].word(i);
 
-            state[piece].forEach(index -> {
-                final long value = hash.longValue();
-                hash.set(hasher.insert(value, index, stone));
-            });
+                while (word != 0L) {
+                    final int point = (i << 6) + Long.numberOfTrailingZeros(word);
+                    hash = hasher.insert(hash, point, piece);
+                    word &= word - 1;
+                }
+            }
         }
 
-        return hash.longValue();
+        return hash;
     }
 
 
@@ -618,23 +1431,19 @@ public class GoGame extends BaseGame {
             size = Math.max(size, capacity + CAPACITY_INCREMENT);
             size = Math.min(MAX_CAPACITY, size);
 
-            states = Arrays.copyOf(states, size * (BITSET_SIZE << 1));
-            kopoints = Arrays.copyOf(kopoints, size);
-            cursors = Arrays.copyOf(cursors, size);
-            hashes = Arrays.copyOf(hashes, size);
+            history.ensureCapacity(size);
+            positions.ensureCapacity(size);
             moves = Arrays.copyOf(moves, size);
             capacity = size;
-
-            System.gc();
         }
     }
 
 
     /**
-     * Initialize the heuristic evaluation function.
+     * Initialize the evaluation function for final positions.
      */
     private static Scorer<GoGame> scoreFunction() {
-        return new AreaScorer();
+        return new TrompTaylorScorer();
     }
 
 
@@ -647,17 +1456,10 @@ public class GoGame extends BaseGame {
 
 
     /**
-     * Stores a chain of stones and its liberties.
+     * Initialize the hash code generator for wide keys, which must
+     * be independent of the main generator.
      */
-    protected class Chain {
-        public Bitset stones = new Bitset(BITSET_SIZE);
-        public Bitset liberties = new Bitset(BITSET_SIZE);
-
-        /**
-         * Check if the chain has only one liberty.
-         */
-        public boolean isInAtari() {
-            return 1 == liberties.count();
-        }
+    private static ZobristHash wideHashFunction() {
+        return new ZobristHash(WIDE_SEED, PIECE_COUNT, BOARD_SIZE);
     }
 }
@@ -25,9 +25,13 @@ import picocli.CommandLine.Command;
 import com.joansala.cli.*;
 import com.joansala.engine.*;
 import com.joansala.engine.base.BaseModule;
-import com.joansala.engine.mcts.Montecarlo;
 import com.joansala.uci.UCIService;
+import com.joansala.game.go.uci.BoardSizeOption;
+import com.joansala.game.go.uci.EvaluationOption;
 import com.joansala.game.go.uci.KomiOption;
+import com.joansala.game.go.uci.MercyOption;
+import com.joansala.game.go.uci.SekiPruningOption;
+import com.joansala.game.go.uci.SettledPruningOption;
 
 
 /**
@@ -52,7 +56,7 @@ public class GoModule extends BaseModule {
     @Override protected void configure() {
         bind(Game.class).to(GoGame.class);
         bind(Board.class).to(GoBoard.class);
-        bind(Engine.class).to(Montecarlo.class);
+        bind(Engine.class).to(GoMontecarlo.class);
     }
 
 
@@ -62,7 +66,12 @@ public class GoModule extends BaseModule {
     @Provides
     public static UCIService provideService(Game game, Engine engine) {
         UCIService service = new UCIService(game, engine);
+        service.getOptions().put("BoardSize", new BoardSizeOption());
         service.getOptions().put("Komi", new KomiOption());
+        service.getOptions().put("Mercy", new MercyOption());
+        service.getOptions().put("Evaluation", new EvaluationOption());
+        service.getOptions().put("SekiPruning", new SekiPruningOption());
+        service.getOptions().put("SettledPruning", new SettledPruningOption());
         return service;
     }
 
@@ -0,0 +1,89 @@
+package com.joansala.game.go;
+
+/*
+ * Aalina engine.
+ * Copyright (C) 2021-2024 Joan Sala Soler <contact@joansala.com>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+import com.joansala.engine.Game;
+import com.joansala.engine.mcts.Montecarlo;
+
+
+/**
+ * Monte-Carlo tree search engine that simulates Go matches with a
+ * dedicated playout runner instead of the generic game interface.
+ *
+ * The points owned by each player on the final position of every
+ * simulation are accumulated on an ownership map, which is cleared
+ * each time a new search starts.
+ *
+ * @see Playout
+ * @see Ownership
+ */
+public class GoMontecarlo extends Montecarlo {
+
+    /** Playout runner for the board being played */
+    private Playout playout;
+
+    /** Ownership map of the current search */
+    private Ownership ownership;
+
+
+    /**
+     * Ownership map accumulated by the simulations of the last search,
+     * or null if no search was performed.
+     */
+    public Ownership ownership() {
+        return ownership;
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int computeBestMove(Game game) {
+        prepare(game.cast());
+        ownership.clear();
+
+        return super.computeBestMove(game);
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected int simulateMatch(Game game, int maxDepth) {
+        final GoGame match = game.cast();
+        prepare(match);
+
+        return playout.play(match, maxDepth);
+    }
+
+
+    /**
+     * Creates a playout runner and an ownership map for the board of
+     * a game if it is not the board of the current ones.
+     */
+    private void prepare(GoGame game) {
+        if (playout == null || playout.geometry() != game.geometry()) {
+            playout = new Playout(game.geometry(), System.nanoTime());
+            ownership = new Ownership(game.geometry());
+            playout.setOwnership(ownership);
+        }
+    }
+}
@@ -0,0 +1,252 @@
+package com.joansala.game.go;
+
+/*
+ * Aalina engine.
+ * Copyright (C) 2021-2024 Joan Sala Soler <contact@joansala.com>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+import java.util.Arrays;
+
+import static com.joansala.game.go.Go.*;
+
+
+/**
+ * Stores the state of each ply of a game and the stones captured
+ * on them.
+ *
+ * Plies and captured stones are stored on fixed size chunks, so the
+ * history can grow by allocating new chunks without copying the
+ * plies that were already stored.
+ */
+final class History {
+
+    /** Binary logarithm of the chunk size */
+    private static final int CHUNK_BITS = 8;
+
+    /** Number of entries on each chunk */
+    private static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+
+    /** Mask to obtain an entry index on a chunk */
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+
+    /** Number of integers stored for each ply */
+    private static final int RECORD_SIZE = 5;
+
+    /** Record offset of the move generation cursor */
+    private static final int CURSOR = 0;
+
+    /** Record offset of the ko point */
+    private static final int KOPOINT = 1;
+
+    /** Record offset of the last capture ply */
+    private static final int CAPTURE = 2;
+
+    /** Record offset of the journal length */
+    private static final int OFFSET = 3;
+
+    /** Record offset of the terminal status */
+    private static final int STATUS = 4;
+
+    /** Hash code chunks */
+    private long[][] hashes = new long[0][];
+
+    /** Second hash word chunks */
+    private long[][] checks = new long[0][];
+
+    /** Ply record chunks */
+    private int[][] records = new int[0][];
+
+    /** Captured stone chunks */
+    private int[][] journal = new int[0][];
+
+
+    /**
+     * Creates a new history.
+     *
+     * @param capacity      Initial number of plies
+     */
+    History(int capacity) {
+        ensureCapacity(capacity);
+    }
+
+
+    /**
+     * Stores the state of a ply.
+     *
+     * @param ply       Ply index
+     * @param hash      Position hash code
+     * @param check     Second hash word
+     * @param cursor    Move generation cursor
+     * @param kopoint   Ko point
+     * @param capture   Last capture ply
+     * @param offset    Captured stones journal length
+     * @param status    Terminal status of the position
+     */
+    void store(int ply, long hash, long check, int cursor, int kopoint, int capture, int offset, int status) {
+        final int[] record = records[ply >> CHUNK_BITS];
+        final int i = (ply & CHUNK_MASK) * RECORD_SIZE;
+
+        hashes[ply >> CHUNK_BITS][ply & CHUNK_MASK] = hash;
+        checks[ply >> CHUNK_BITS][ply & CHUNK_MASK] = check;
+        record[i + CURSOR] = cursor;
+        record[i + KOPOINT] = kopoint;
+        record[i + CAPTURE] = capture;
+        record[i + OFFSET] = offset;
+        record[i + STATUS] = status;
+    }
+
+
+    /**
+     * Position hash code of a ply.
+     */
+    long hash(int ply) {
+        return hashes[ply >> CHUNK_BITS][ply & CHUNK_MASK];
+    }
+
+
+    /**
+     * Second hash word of a ply.
+     */
+    long check(int ply) {
+        return checks[ply >> CHUNK_BITS][ply & CHUNK_MASK];
+    }
+
+
+    /**
+     * Move generation cursor of a ply.
+     */
+    int cursor(int ply) {
+        return field(ply, CURSOR);
+    }
+
+
+    /**
+     * Ko point of a ply.
+     */
+    int kopoint(int ply) {
+        return field(ply, KOPOINT);
+    }
+
+
+    /**
+     * Last capture ply of a ply.
+     */
+    int capture(int ply) {
+        return field(ply, CAPTURE);
+    }
+
+
+    /**
+     * Captured stones journal length of a ply.
+     */
+    int offset(int ply) {
+        return field(ply, OFFSET);
+    }
+
+
+    /**
+     * Terminal status of a ply.
+     */
+    int status(int ply) {
+        return field(ply, STATUS);
+    }
+
+
+    /**
+     * Replaces the terminal status stored for a ply.
+     *
+     * @param ply       Ply index
+     * @param status    Terminal status of the position
+     */
+    void setStatus(int ply, int status) {
+        records[ply >> CHUNK_BITS][(ply & CHUNK_MASK) * RECORD_SIZE + STATUS] = status;
+    }
+
+
+    /**
+     * Stores a captured stone on the journal.
+     *
+     * @param entry     Journal index
+     * @param point     Captured stone point
+     */
+    void record(int entry, int point) {
+        journal[entry >> CHUNK_BITS][entry & CHUNK_MASK] = point;
+    }
+
+
+    /**
+     * Captured stone stored on the journal.
+     *
+     * @param entry     Journal index
+     * @return          Captured stone point
+     */
+    int point(int entry) {
+        return journal[entry >> CHUNK_BITS][entry & CHUNK_MASK];
+    }
+
+
+    /**
+     * Allocates new chunks so the history can store at least the
+     * given number of plies. Every captured stone was placed during
+     * the game or was on the initial board, so the journal is sized
+     * for one stone per ply plus a full board.
+     *
+     * @param capacity      Number of plies
+     */
+    void ensureCapacity(int capacity) {
+        final int plies = chunks(capacity);
+        final int stones = chunks(capacity + BOARD_SIZE);
+
+        if (plies > hashes.length) {
+            final int length = hashes.length;
+            hashes = Arrays.copyOf(hashes, plies);
+            checks = Arrays.copyOf(checks, plies);
+            records = Arrays.copyOf(records, plies);
+
+            for (int i = length; i < plies; i++) {
+                hashes[i] = new long[CHUNK_SIZE];
+                checks[i] = new long[CHUNK_SIZE];
+                records[i] = new int[CHUNK_SIZE * RECORD_SIZE];
+            }
+        }
+
+        if (stones > journal.length) {
+            final int length = journal.length;
+            journal = Arrays.copyOf(journal, stones);
+
+            for (int i = length; i < stones; i++) {
+                journal[i] = new int[CHUNK_SIZE];
+            }
+        }
+    }
+
+
+    /**
+     * Integer stored on the record of a ply.
+     */
+    private int field(int ply, int offset) {
+        final int i = (ply & CHUNK_MASK) * RECORD_SIZE;
+        return records[ply >> CHUNK_BITS][i + offset];
+    }
+
+
+    /**
+     * Number of chunks needed to store the given entries.
+     */
+    private static int chunks(int entries) {
+        return (entries + CHUNK_MASK) >> CHUNK_BITS;
+    }
+}
@@ -0,0 +1,182 @@
+package com.joansala.game.go;
+
+/*
+ * Aalina engine.
+ * Copyright (C) 2021-2024 Joan Sala Soler <contact@joansala.com>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+import java.util.Arrays;
+import com.joansala.util.bits.Bitset;
+
+import static com.joansala.game.go.Go.*;
+
+
+/**
+ * Contents of each intersection of a position on a board that is
+ * surrounded by a ring of off-board cells.
+ *
+ * Every intersection is stored on a cell whose four neighbors are
+ * at fixed offsets, thus neighbors can be visited without checking
+ * the bounds of the board. Cells outside the board contain a sentinel
+ * value that is neither a stone nor an empty intersection.
+ */
+final class Mailbox {
+
+    /** Contents of an empty cell */
+    static final int EMPTY = 2;
+
+    /** Contents of an off-board cell */
+    static final int EDGE = 3;
+
+    /** Board geometry */
+    private final Geometry geometry;
+
+    /** Offsets to the four neighbors, on west, east, south, north order */
+    final int[] offsets;
+
+    /** Cell of each intersection */
+    private final int[] cells;
+
+    /** Intersection of each cell */
+    private final int[] points;
+
+    /** Contents of each cell */
+    private final byte[] contents;
+
+
+    /**
+     * Creates a new mailbox for a board geometry.
+     *
+     * @param geometry  Board geometry
+     */
+    Mailbox(Geometry geometry) {
+        final int files = 2 + geometry.files();
+        final int size = files * (2 + geometry.ranks());
+
+        this.geometry = geometry;
+        this.offsets = new int[] { -1, 1, -files, files };
+        this.cells = new int[geometry.size()];
+        this.points = new int[size];
+        this.contents = new byte[size];
+
+        Arrays.fill(points, Chains.NONE);
+
+        for (int point = 0; point < geometry.size(); point++) {
+            final int file = point % geometry.files();
+            final int rank = point / geometry.files();
+            final int cell = (1 + rank) * files + (1 + file);
+
+            cells[point] = cell;
+            points[cell] = point;
+        }
+    }
+
+
+    /**
+     * Cell where an intersection is stored.
+     *
+     * @param point     Intersection point
+     */
+    int cell(int point) {
+        return cells[point];
+    }
+
+
+    /**
+     * Intersection stored on a cell.
+     *
+     * @param cell      Board cell
+     * @return          Intersection point or {@code Chains.NONE}
+     */
+    int point(int cell) {
+        return points[cell];
+    }
+
+
+    /**
+     * Copies the stones of a position to this board.
+     *
+     * @param state     Position bitboards
+     */
+    void reset(Bitset[] state) {
+        Arrays.fill(contents, (byte) EDGE);
+
+        for (int point = 0; point < geometry.size(); point++) {
+            final int cell = cells[point];
+
+            if (state[BLACK].contains(point)) {
+                contents[cell] = BLACK;
+            } else if (state[WHITE].contains(point)) {
+                contents[cell] = WHITE;
+            } else {
+                contents[cell] = EMPTY;
+            }
+        }
+    }
+
+
+    /**
+     * Contents of a cell.
+     *
+     * @param cell      Board cell
+     * @return          Stone color, {@code EMPTY} or {@code EDGE}
+     */
+    int contents(int cell) {
+        return contents[cell];
+    }
+
+
+    /**
+     * Contents of an intersection.
+     *
+     * @param point     Intersection point
+     * @return          Stone color or {@code EMPTY}
+     */
+    int get(int point) {
+        return contents[cells[point]];
+    }
+
+
+    /**
+     * Check if an intersection does not contain any stones.
+     *
+     * @param point     Intersection point
+     */
+    boolean isEmpty(int point) {
+        return contents[cells[point]] == EMPTY;
+    }
+
+
+    /**
+     * Places a stone on an intersection.
+     *
+     * @param point     Intersection point
+     * @param color     Stone color
+     */
+    void insert(int point, int color) {
+        contents[cells[point]] = (byte) color;
+    }
+
+
+    /**
+     * Removes the stone placed on an intersection.
+     *
+     * @param point     Intersection point
+     */
+    void remove(int point) {
+        contents[cells[point]] = EMPTY;
+    }
+}
@@ -0,0 +1,148 @@
+package com.joansala.game.go;
+
+/*
+ * Aalina engine.
+ * Copyright (C) 2021-2024 Joan Sala Soler <contact@joansala.com>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+import java.util.concurrent.atomic.LongAdder;
+
+
+/**
+ * Bounded table of legal move sets that can be shared by the games
+ * of concurrent search threads.
+ *
+ * Each slot stores the words of a move set together with a check word,
+ * which is the key xor-ed with all of them, and the words are written
+ * without locks. A slot whose words were written by different threads
+ * fails the key check when it is read and is reported as a miss, so a
+ * torn entry is never returned. Move sets always contain the forfeit
+ * move, thus an empty slot never matches a key. Newer entries always
+ * replace the entries stored on their slot.
+ */
+public final class MoveCache {
+
+    /** Default number of slots of a cache */
+    public static final int DEFAULT_SIZE = 1 << 16;
+
+    /** Binary logarithm of the number of words of a slot */
+    private static final int SLOT_BITS = 3;
+
+    /** Maximum number of words of a move set */
+    public static final int MAX_WORDS = (1 << SLOT_BITS) - 1;
+
+    /** Check word and move set words of each slot */
+    private final long[] table;
+
+    /** Mask to obtain a slot from a key */
+    private final int mask;
+
+    /** Number of lookups that found their key */
+    private final LongAdder hits = new LongAdder();
+
+    /** Number of lookups that did not find their key */
+    private final LongAdder misses = new LongAdder();
+
+
+    /**
+     * Creates a new empty cache.
+     *
+     * @param size      Number of slots, rounded down to a power of two
+     */
+    public MoveCache(int size) {
+        final int slots = Integer.highestOneBit(Math.max(1, size));
+        this.table = new long[slots << SLOT_BITS];
+        this.mask = slots - 1;
+    }
+
+
+    /**
+     * Copies the move set stored for a key. The contents of the given
+     * bitboard are undefined if the key is not found.
+     *
+     * @param key       Position key
+     * @param moves     Bitboard where the move set is copied
+     * @return          If the key was found
+     */
+    public boolean get(long key, long[] moves) {
+        final int index = ((int) key & mask) << SLOT_BITS;
+        long check = table[index];
+        long union = 0L;
+
+        for (int i = 0; i < moves.length; i++) {
+            final long word = table[index + 1 + i];
+            check ^= word;
+            union |= word;
+            moves[i] = word;
+        }
+
+        if (check == key && union != 0L) {
+            hits.increment();
+            return true;
+        }
+
+        misses.increment();
+        return false;
+    }
+
+
+    /**
+     * Stores the move set of a key.
+     *
+     * @param key       Position key
+     * @param moves     Move set bitboard
+     */
+    public void put(long key, long[] moves) {
+        final int index = ((int) key & mask) << SLOT_BITS;
+        long check = key;
+
+        for (int i = 0; i < moves.length; i++) {
+            table[index + 1 + i] = moves[i];
+            check ^= moves[i];
+        }
+
+        table[index] = check;
+    }
+
+
+    /**
+     * Number of lookups that found their key.
+     */
+    public long hits() {
+        return hits.sum();
+    }
+
+
+    /**
+     * Number of lookups that did not find their key.
+     */
+    public long misses() {
+        return misses.sum();
+    }
+
+
+    /**
+     * Removes all the entries and resets the counters.
+     */
+    public void clear() {
+        for (int i = 0; i < table.length; i++) {
+            table[i] = 0L;
+        }
+
+        hits.reset();
+        misses.reset();
+    }
+}
@@ -0,0 +1,181 @@
+package com.joansala.game.go;
+
+/*
+ * Aalina engine.
+ * Copyright (C) 2021-2024 Joan Sala Soler <contact@joansala.com>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import static com.joansala.game.go.Go.*;
+
+
+/**
+ * Accumulates the owner of each intersection on the final positions
+ * of many playouts.
+ *
+ * Counters are split in stripes and each thread updates the stripe
+ * selected by its identifier, so threads that run playouts in parallel
+ * rarely update the same counters. Counters are updated atomically,
+ * thus no updates are lost even if two threads share a stripe.
+ */
+public final class Ownership {
+
+    /** Number of counter stripes */
+    private static final int STRIPES = 8;
+
+    /** Number of intersections on the board */
+    private final int size;
+
+    /** Owned counts of each color and point, for each stripe */
+    private final AtomicIntegerArray[] counters;
+
+    /** Number of accumulated positions on each stripe */
+    private final AtomicIntegerArray samples;
+
+
+    /**
+     * Creates a new ownership map for a board geometry.
+     *
+     * @param geometry  Board geometry
+     */
+    public Ownership(Geometry geometry) {
+        this.size = geometry.size();
+        this.samples = new AtomicIntegerArray(STRIPES);
+        this.counters = new AtomicIntegerArray[STRIPES];
+
+        for (int i = 0; i < STRIPES; i++) {
+            counters[i] = new AtomicIntegerArray(PIECE_COUNT * size);
+        }
+    }
+
+
+    /**
+     * Adds the areas of a final position to this map.
+     *
+     * @param black     Points owned by black
+     * @param white     Points owned by white
+     */
+    public void add(long[] black, long[] white) {
+        final int stripe = (int) Thread.currentThread().getId() & (STRIPES - 1);
+        final AtomicIntegerArray counts = counters[stripe];
+
+        increment(counts, black, BLACK * size);
+        increment(counts, white, WHITE * size);
+        samples.incrementAndGet(stripe);
+    }
+
+
+    /**
+     * Number of positions accumulated on this map.
+     */
+    public int samples() {
+        int count = 0;
+
+        for (int i = 0; i < STRIPES; i++) {
+            count += samples.get(i);
+        }
+
+        return count;
+    }
+
+
+    /**
+     * Number of positions where a point was owned by a player.
+     *
+     * @param color     Stone color
+     * @param point     Intersection point
+     */
+    public int count(int color, int point) {
+        final int index = color * size + point;
+        int count = 0;
+
+        for (int i = 0; i < STRIPES; i++) {
+            count += counters[i].get(index);
+        }
+
+        return count;
+    }
+
+
+    /**
+     * Expected owner of a point. This is the fraction of positions
+     * where black owned it minus the fraction where white owned it.
+     *
+     * @param point     Intersection point
+     * @return          Value from -1.0 (white) to 1.0 (black)
+     */
+    public double ownership(int point) {
+        final int samples = samples();
+
+        if (samples == 0) {
+            return 0.0;
+        }
+
+        return (count(BLACK, point) - count(WHITE, point)) / (double) samples;
+    }
+
+
+    /**
+     * Expected area score without komi, obtained by adding the
+     * expected owner of every point.
+     *
+     * @return          Score in centipawns
+     */
+    public int expectedScore() {
+        double score = 0.0;
+
+        for (int point = 0; point < size; point++) {
+            score += ownership(point);
+        }
+
+        return (int) Math.round(STONE_SCORE * score);
+    }
+
+
+    /**
+     * Removes all the accumulated positions.
+     */
+    public void clear() {
+        for (int i = 0; i < STRIPES; i++) {
+            samples.set(i, 0);
+
+            for (int n = 0; n < counters[i].length(); n++) {
+                counters[i].set(n, 0);
+            }
+        }
+    }
+
+
+    /**
+     * Increments the counters of the points on a bitboard.
+     *
+     * @param counts    Counters of a stripe
+     * @param points    Bitboard of points
+     * @param base      Index of the first counter of the color
+     */
+    private static void increment(AtomicIntegerArray counts, long[] points, int base) {
+        for (int i = 0; i < points.length; i++) {
+            long word = points[i];
+
+            while (word != 0L) {
+                final int point = (i << 6) + Long.numberOfTrailingZeros(word);
+                counts.getAndIncrement(base + point);
+                word &= word - 1;
+            }
+        }
+    }
+}
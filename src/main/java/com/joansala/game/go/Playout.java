@@ -0,0 +1,484 @@
+package com.joansala.game.go;
+
+/*
+ * Aalina engine.
+ * Copyright (C) 2021-2024 Joan Sala Soler <contact@joansala.com>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+import com.joansala.game.go.attacks.Flood;
+import com.joansala.game.go.scorers.BensonScorer;
+import com.joansala.game.go.scorers.TrompTaylorScorer;
+
+import static com.joansala.game.go.Go.*;
+import static com.joansala.game.go.Mailbox.*;
+import static com.joansala.engine.Game.*;
+
+
+/**
+ * Plays random matches from the current position of a game to their
+ * end as fast as possible.
+ *
+ * The position is copied once to a mailbox and a chains table, and
+ * the match is played on them without keeping any history: moves are
+ * never taken back, positions are not hashed and repetitions are not
+ * checked. Instead, matches are stopped after a maximum number of
+ * plies. Each player picks random legal moves among the empty points,
+ * never filling its own eyes, and forfeits its turn only when no such
+ * move exists. The match ends when both players forfeit in a row.
+ *
+ * A playout instance keeps its own state and random generator, so
+ * each search thread must use its own instance.
+ */
+public final class Playout {
+
+    /** Maximum number of plies for each intersection */
+    public static final int PLIES_PER_POINT = 2;
+
+    /** Identifier of a forfeited turn */
+    private static final int FORFEIT = -1;
+
+    /** Board geometry */
+    private final Geometry geometry;
+
+    /** Bitboard operations for the board */
+    private final Flood flood;
+
+    /** Contents of each intersection */
+    private final Mailbox mailbox;
+
+    /** Chains of stones */
+    private final Chains chains;
+
+    /** Final positions scorer */
+    private final TrompTaylorScorer scorer = new TrompTaylorScorer();
+
+    /** Final positions scorer for settled points pruning */
+    private final BensonScorer settledScorer = new BensonScorer();
+
+    /** Unconditional life analyzer */
+    private final Benson benson;
+
+    /** Empty points of the position */
+    private final int[] empties;
+
+    /** Index of each point on the empty points */
+    private final int[] slots;
+
+    /** Black stones of the final position */
+    private final long[] black;
+
+    /** White stones of the final position */
+    private final long[] white;
+
+    /** Maximum number of plies of a match */
+    private final int maxPlies;
+
+    /** Number of empty points */
+    private int count;
+
+    /** Forbidden ko point */
+    private int kopoint;
+
+    /** Number of black stones minus white stones */
+    private int balance;
+
+    /** Random number generator state */
+    private long seed;
+
+    /** Ownership map of the final positions or null */
+    private Ownership ownership;
+
+
+    /**
+     * Creates a new playout runner for a board geometry.
+     *
+     * @param geometry  Board geometry
+     * @param seed      Random generator seed
+     */
+    public Playout(Geometry geometry, long seed) {
+        this.geometry = geometry;
+        this.flood = Flood.of(geometry);
+        this.mailbox = new Mailbox(geometry);
+        this.chains = new Chains(geometry, mailbox);
+        this.benson = new Benson(geometry);
+        this.empties = new int[geometry.size()];
+        this.slots = new int[geometry.size()];
+        this.black = new long[geometry.words()];
+        this.white = new long[geometry.words()];
+        this.maxPlies = PLIES_PER_POINT * geometry.size();
+        this.seed = seed == 0L ? RANDOM_SEED : seed;
+    }
+
+
+    /**
+     * Board geometry of this runner.
+     */
+    public Geometry geometry() {
+        return geometry;
+    }
+
+
+    /**
+     * Sets an ownership map where the points owned by each player on
+     * the final position of every match are accumulated.
+     *
+     * @param ownership     Ownership map or null to disable it
+     */
+    public void setOwnership(Ownership ownership) {
+        this.ownership = ownership;
+    }
+
+
+    /**
+     * Plays a random match from the current position of a game. The
+     * game is not modified.
+     *
+     * @param game      Game to simulate
+     * @return          Outcome of the match for the south player
+     * @see GoGame#outcome()
+     */
+    public int play(GoGame game) {
+        return play(game, maxPlies);
+    }
+
+
+    /**
+     * Plays a random match from the current position of a game for at
+     * most the given number of plies. The game is not modified.
+     *
+     * @param game      Game to simulate
+     * @param plies     Maximum number of plies to play
+     * @return          Outcome of the match for the south player
+     * @see GoGame#outcome()
+     */
+    public int play(GoGame game, int plies) {
+        if (game.geometry() != geometry) {
+            throw new IllegalArgumentException(
+                "The game is not played on this board");
+        }
+
+        if (game.hasEnded()) {
+            if (ownership != null) {
+                game.accumulate(ownership);
+            }
+
+            return game.outcome();
+        }
+
+        reset(game);
+
+        final int mercy = game.mercy();
+        int color = game.turn() == SOUTH ? BLACK : WHITE;
+        final int limit = Math.min(plies, maxPlies);
+        int forfeits = 0;
+
+        for (int ply = 0; ply < limit && forfeits < 2; ply++) {
+            if (mercy > 0 && Math.abs(balance) > mercy) {
+                collect();
+                accumulate();
+                return balance > 0 ? INFINITY_SCORE : -INFINITY_SCORE;
+            }
+
+            final int point = pickMove(color);
+
+            if (point == FORFEIT) {
+                forfeits++;
+            } else {
+                forfeits = 0;
+                place(point, color);
+            }
+
+            color = color ^ 1;
+        }
+
+        collect();
+        final int outcome = outcome(game);
+        accumulate();
+
+        return outcome;
+    }
+
+
+    /**
+     * Copies the position of a game.
+     */
+    private void reset(GoGame game) {
+        mailbox.reset(game.state());
+        chains.reset(game.state());
+        kopoint = game.kopoint();
+        balance = 0;
+        count = 0;
+
+        for (int point = 0; point < geometry.size(); point++) {
+            final int contents = mailbox.get(point);
+
+            if (contents == EMPTY) {
+                slots[point] = count;
+                empties[count++] = point;
+            } else {
+                balance += contents == BLACK ? 1 : -1;
+            }
+        }
+    }
+
+
+    /**
+     * Picks a random legal move that does not fill an eye of the
+     * player. Points that are rejected are moved to the end of the
+     * candidates, so each point is checked at most once.
+     *
+     * @param color     Color of the player to move
+     * @return          Intersection point or {@code FORFEIT}
+     */
+    private int pickMove(int color) {
+        int candidates = count;
+
+        while (candidates > 0) {
+            final int index = nextInt(candidates);
+            final int point = empties[index];
+
+            if (isLegal(point, color) && !isEye(point, color)) {
+                return point;
+            }
+
+            swap(index, --candidates);
+        }
+
+        return FORFEIT;
+    }
+
+
+    /**
+     * Places a stone on an empty point and captures the rival chains
+     * that are left without liberties.
+     */
+    private void place(int point, int color) {
+        final int cell = mailbox.cell(point);
+        final int rival = color ^ 1;
+        int captures = 0;
+
+        mailbox.insert(point, color);
+        chains.place(point, color);
+        balance += color == BLACK ? 1 : -1;
+        removeEmpty(point);
+
+        for (int offset : mailbox.offsets) {
+            if (mailbox.contents(cell + offset) == rival) {
+                final int neighbor = mailbox.point(cell + offset);
+
+                if (chains.isCaptured(neighbor)) {
+                    captureChain(neighbor, rival);
+                    kopoint = neighbor;
+                    captures++;
+                }
+            }
+        }
+
+        if (captures != 1) {
+            kopoint = NULL_MOVE;
+        }
+    }
+
+
+    /**
+     * Removes all the stones of a chain from the board.
+     */
+    private void captureChain(int point, int color) {
+        int stone = point;
+
+        do {
+            mailbox.remove(stone);
+            balance -= color == BLACK ? 1 : -1;
+            insertEmpty(stone);
+            stone = chains.next(stone);
+        } while (stone != point);
+
+        chains.remove(point);
+    }
+
+
+    /**
+     * Check if a stone can be placed on an empty point.
+     */
+    private boolean isLegal(int point, int color) {
+        if (point == kopoint) {
+            return false;
+        }
+
+        final int cell = mailbox.cell(point);
+
+        for (int offset : mailbox.offsets) {
+            final int contents = mailbox.contents(cell + offset);
+
+            if (contents == EMPTY) {
+                return true;
+            }
+
+            if (contents != EDGE) {
+                final boolean atari = chains.isAtari(mailbox.point(cell + offset));
+
+                if (contents == color ? !atari : atari) {
+                    return true;
+                }
+            }
+        }
+
+        return false;
+    }
+
+
+    /**
+     * Check if all the neighbors of an empty point are stones of the
+     * given color or off-board cells.
+     */
+    private boolean isEye(int point, int color) {
+        final int cell = mailbox.cell(point);
+
+        for (int offset : mailbox.offsets) {
+            final int contents = mailbox.contents(cell + offset);
+
+            if (contents != color && contents != EDGE) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+
+    /**
+     * Stores the stones of the current position on the black and
+     * white bitboards.
+     */
+    private void collect() {
+        for (int i = 0; i < black.length; i++) {
+            black[i] = 0L;
+            white[i] = 0L;
+        }
+
+        for (int point = 0; point < geometry.size(); point++) {
+            final int contents = mailbox.get(point);
+
+            if (contents == BLACK) {
+                black[point >> 6] |= 1L << point;
+            } else if (contents == WHITE) {
+                white[point >> 6] |= 1L << point;
+            }
+        }
+    }
+
+
+    /**
+     * Adds the points owned by each player on the current position to
+     * the ownership map. Those are the stones of the player and the
+     * empty points surrounded only by its stones, which are the only
+     * empty points left once both players forfeit.
+     */
+    private void accumulate() {
+        if (ownership == null) {
+            return;
+        }
+
+        for (int i = 0; i < count; i++) {
+            final int point = empties[i];
+
+            if (isEye(point, BLACK)) {
+                black[point >> 6] |= 1L << point;
+            } else if (isEye(point, WHITE)) {
+                white[point >> 6] |= 1L << point;
+            }
+        }
+
+        ownership.add(black, white);
+    }
+
+
+    /**
+     * Outcome of the current position for the south player. The
+     * stones must be already stored on the bitboards. Positions are
+     * scored as the game scores its own final positions.
+     *
+     * @param game      Game being simulated
+     */
+    private int outcome(GoGame game) {
+        final int score = score(game.settledPruning()) - game.komi();
+
+        if (score < DRAW_SCORE) return -INFINITY_SCORE;
+        if (score > DRAW_SCORE) return INFINITY_SCORE;
+        return DRAW_SCORE;
+    }
+
+
+    /**
+     * Score of the current position without komi.
+     *
+     * @param settled   If settled points count for their owners
+     */
+    private int score(boolean settled) {
+        if (settled == false) {
+            return scorer.evaluate(flood, black, white);
+        }
+
+        benson.analyze(black, white);
+        return settledScorer.evaluate(flood, benson, black, white);
+    }
+
+
+    /**
+     * Adds a point to the empty points.
+     */
+    private void insertEmpty(int point) {
+        slots[point] = count;
+        empties[count++] = point;
+    }
+
+
+    /**
+     * Removes a point from the empty points.
+     */
+    private void removeEmpty(int point) {
+        final int last = empties[--count];
+        final int slot = slots[point];
+
+        empties[slot] = last;
+        slots[last] = slot;
+    }
+
+
+    /**
+     * Exchanges two entries of the empty points.
+     */
+    private void swap(int i, int j) {
+        final int point = empties[i];
+
+        empties[i] = empties[j];
+        empties[j] = point;
+        slots[empties[i]] = i;
+        slots[point] = j;
+    }
+
+
+    /**
+     * Next random integer on the range {@code [0, bound)}.
+     */
+    private int nextInt(int bound) {
+        seed ^= seed << 13;
+        seed ^= seed >>> 7;
+        seed ^= seed << 17;
+
+        return (int) (((seed >>> 32) * bound) >>> 32);
+    }
+}
@@ -0,0 +1,187 @@
+package com.joansala.game.go;
+
+/*
+ * Aalina engine.
+ * Copyright (C) 2021-2024 Joan Sala Soler <contact@joansala.com>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+import java.util.Arrays;
+
+
+/**
+ * Multiset of position hashes stored on an open addressing table.
+ * Each hash may be extended with a second word, so positions can be
+ * told apart with 128-bit keys; the second word is zero otherwise.
+ *
+ * Hashes are added when a move is made and removed when it is taken
+ * back. When the last occurrence of a hash is removed its slot is
+ * refilled by shifting back the entries that probed past it, so the
+ * table never contains tombstones and lookups can stop at the first
+ * empty slot regardless of the order in which slots were filled.
+ */
+final class PositionIndex {
+
+    /** Hash of each slot */
+    private long[] keys;
+
+    /** Second hash word of each slot */
+    private long[] checks;
+
+    /** Number of occurrences of each slot hash */
+    private int[] counts;
+
+    /** Mask to obtain a slot from a hash */
+    private int mask;
+
+
+    /**
+     * Creates a new empty index.
+     *
+     * @param capacity      Maximum number of hashes
+     */
+    PositionIndex(int capacity) {
+        allocate(capacity);
+    }
+
+
+    /**
+     * Removes all the hashes from this index.
+     */
+    void clear() {
+        Arrays.fill(counts, 0);
+    }
+
+
+    /**
+     * Check if a hash was added to this index.
+     *
+     * @param hash      Position hash
+     * @param check     Second hash word
+     */
+    boolean contains(long hash, long check) {
+        int slot = (int) hash & mask;
+
+        while (counts[slot] != 0) {
+            if (keys[slot] == hash && checks[slot] == check) {
+                return true;
+            }
+
+            slot = (slot + 1) & mask;
+        }
+
+        return false;
+    }
+
+
+    /**
+     * Adds an occurrence of a hash to this index.
+     *
+     * @param hash      Position hash
+     * @param check     Second hash word
+     */
+    void insert(long hash, long check) {
+        int slot = (int) hash & mask;
+
+        while (counts[slot] != 0 && (keys[slot] != hash || checks[slot] != check)) {
+            slot = (slot + 1) & mask;
+        }
+
+        keys[slot] = hash;
+        checks[slot] = check;
+        counts[slot]++;
+    }
+
+
+    /**
+     * Removes the last added occurrence of a hash from this index.
+     *
+     * @param hash      Position hash
+     * @param check     Second hash word
+     */
+    void remove(long hash, long check) {
+        int slot = (int) hash & mask;
+
+        while (keys[slot] != hash || checks[slot] != check || counts[slot] == 0) {
+            slot = (slot + 1) & mask;
+        }
+
+        if (--counts[slot] == 0) {
+            shift(slot);
+        }
+    }
+
+
+    /**
+     * Increases the number of hashes this index can hold, keeping
+     * the hashes that it contains.
+     *
+     * @param capacity      Maximum number of hashes
+     */
+    void ensureCapacity(int capacity) {
+        if (capacity > (keys.length >> 1)) {
+            final long[] keys = this.keys;
+            final long[] checks = this.checks;
+            final int[] counts = this.counts;
+
+            allocate(capacity);
+
+            for (int slot = 0; slot < keys.length; slot++) {
+                for (int n = 0; n < counts[slot]; n++) {
+                    insert(keys[slot], checks[slot]);
+                }
+            }
+        }
+    }
+
+
+    /**
+     * Fills an emptied slot moving back the entries of its cluster
+     * that would become unreachable otherwise.
+     *
+     * @param hole      Slot that was emptied
+     */
+    private void shift(int hole) {
+        int slot = (hole + 1) & mask;
+
+        while (counts[slot] != 0) {
+            final int home = (int) keys[slot] & mask;
+
+            if (((slot - home) & mask) >= ((slot - hole) & mask)) {
+                keys[hole] = keys[slot];
+                checks[hole] = checks[slot];
+                counts[hole] = counts[slot];
+                counts[slot] = 0;
+                hole = slot;
+            }
+
+            slot = (slot + 1) & mask;
+        }
+    }
+
+
+    /**
+     * Allocates an empty table for the given number of hashes. The
+     * table is kept at most half full.
+     */
+    private void allocate(int capacity) {
+        final int size = Integer.highestOneBit(Math.max(1, capacity)) << 2;
+
+        keys = new long[size];
+        checks = new long[size];
+        counts = new int[size];
+        mask = size - 1;
+    }
+}
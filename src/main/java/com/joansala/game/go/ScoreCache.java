@@ -0,0 +1,132 @@
+package com.joansala.game.go;
+
+/*
+ * Aalina engine.
+ * Copyright (C) 2021-2024 Joan Sala Soler <contact@joansala.com>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+import java.util.concurrent.atomic.LongAdder;
+
+
+/**
+ * Bounded table of position scores that can be shared by the games
+ * of concurrent search threads.
+ *
+ * Each slot stores a score together with its key xor-ed with it, and
+ * both words are written without locks. A slot whose words were written
+ * by different threads fails the key check when it is read and is
+ * reported as a miss, so a torn entry is never returned. Newer entries
+ * always replace the entries stored on their slot.
+ */
+public final class ScoreCache {
+
+    /** Value returned when a key is not found */
+    public static final int MISSING = Integer.MIN_VALUE;
+
+    /** Default number of slots of a cache */
+    public static final int DEFAULT_SIZE = 1 << 16;
+
+    /** Flag set on the data of every stored entry */
+    private static final long STORED = 1L << 32;
+
+    /** Key xor data and data words of each slot */
+    private final long[] table;
+
+    /** Mask to obtain a slot from a key */
+    private final int mask;
+
+    /** Number of lookups that found their key */
+    private final LongAdder hits = new LongAdder();
+
+    /** Number of lookups that did not find their key */
+    private final LongAdder misses = new LongAdder();
+
+
+    /**
+     * Creates a new empty cache.
+     *
+     * @param size      Number of slots, rounded down to a power of two
+     */
+    public ScoreCache(int size) {
+        final int slots = Integer.highestOneBit(Math.max(1, size));
+        this.table = new long[slots << 1];
+        this.mask = slots - 1;
+    }
+
+
+    /**
+     * Obtain the score stored for a key.
+     *
+     * @param key       Position key
+     * @return          Stored score or {@code MISSING}
+     */
+    public int get(long key) {
+        final int index = ((int) key & mask) << 1;
+        final long data = table[index + 1];
+
+        if ((table[index] ^ data) == key && (data & STORED) != 0L) {
+            hits.increment();
+            return (int) data;
+        }
+
+        misses.increment();
+        return MISSING;
+    }
+
+
+    /**
+     * Stores the score of a key.
+     *
+     * @param key       Position key
+     * @param score     Score to store
+     */
+    public void put(long key, int score) {
+        final int index = ((int) key & mask) << 1;
+        final long data = STORED | (score & 0xFFFFFFFFL);
+
+        table[index] = key ^ data;
+        table[index + 1] = data;
+    }
+
+
+    /**
+     * Number of lookups that found their key.
+     */
+    public long hits() {
+        return hits.sum();
+    }
+
+
+    /**
+     * Number of lookups that did not find their key.
+     */
+    public long misses() {
+        return misses.sum();
+    }
+
+
+    /**
+     * Removes all the entries and resets the counters.
+     */
+    public void clear() {
+        for (int i = 0; i < table.length; i++) {
+            table[i] = 0L;
+        }
+
+        hits.reset();
+        misses.reset();
+    }
+}
@@ -0,0 +1,148 @@
+package com.joansala.game.go;
+
+/*
+ * Aalina engine.
+ * Copyright (C) 2021-2024 Joan Sala Soler <contact@joansala.com>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+import java.util.Arrays;
+import com.joansala.util.bits.Bitset;
+import com.joansala.util.hash.ZobristHash;
+
+import static com.joansala.game.go.Go.*;
+import static com.joansala.game.go.Geometry.SYMMETRIES;
+
+
+/**
+ * Zobrist hashes of a position as seen on each rotation and mirror
+ * of the board.
+ *
+ * The hash of a symmetry is computed with the keys of the points that
+ * the stones occupy once the board is transformed, thus all the
+ * symmetric positions share the same set of eight hashes. Keys are
+ * precomputed for each point and symmetry, so the hashes can be
+ * updated on each placement or removal of a stone.
+ */
+final class Symmetries {
+
+    /** Keys of each color, indexed by point and symmetry */
+    private final long[][] keys;
+
+    /** Number of words on each bitset */
+    private final int words;
+
+    /** Hash of the position on each symmetry */
+    private final long[] hashes = new long[SYMMETRIES];
+
+
+    /**
+     * Creates the symmetric hashes for a board geometry.
+     *
+     * @param geometry  Board geometry
+     * @param hasher    Hash code generator
+     */
+    Symmetries(Geometry geometry, ZobristHash hasher) {
+        final int size = geometry.size();
+
+        this.words = geometry.words();
+        this.keys = new long[PIECE_COUNT][size * SYMMETRIES];
+
+        for (int symmetry = 0; symmetry < SYMMETRIES; symmetry++) {
+            final int[] images = geometry.symmetry(symmetry);
+
+            for (int point = 0; point < size; point++) {
+                final int slot = point * SYMMETRIES + symmetry;
+                keys[BLACK][slot] = hasher.insert(0L, images[point], BLACK);
+                keys[WHITE][slot] = hasher.insert(0L, images[point], WHITE);
+            }
+        }
+    }
+
+
+    /**
+     * Computes the hashes of a position.
+     *
+     * @param state     Position bitboards
+     * @param sign      Hash sign of the player to move
+     */
+    void reset(Bitset[] state, long sign) {
+        Arrays.fill(hashes, sign);
+
+        for (int color = 0; color < PIECE_COUNT; color++) {
+            for (int i = 0; i < words; i++) {
+                long word = state[color].word(i);
+
+                while (word != 0L) {
+                    toggle((i << 6) + Long.numberOfTrailingZeros(word), color);
+                    word &= word - 1;
+                }
+            }
+        }
+    }
+
+
+    /**
+     * Toggles a value on all the hashes.
+     *
+     * @param sign      Value to toggle
+     */
+    void toggle(long sign) {
+        for (int symmetry = 0; symmetry < SYMMETRIES; symmetry++) {
+            hashes[symmetry] ^= sign;
+        }
+    }
+
+
+    /**
+     * Toggles a stone on all the hashes.
+     *
+     * @param point     Intersection point
+     * @param color     Stone color
+     */
+    void toggle(int point, int color) {
+        final long[] keys = this.keys[color];
+        final int slot = point * SYMMETRIES;
+
+        for (int symmetry = 0; symmetry < SYMMETRIES; symmetry++) {
+            hashes[symmetry] ^= keys[slot + symmetry];
+        }
+    }
+
+
+    /**
+     * Hash of the position on a symmetry.
+     *
+     * @param symmetry  Symmetry index
+     */
+    long hash(int symmetry) {
+        return hashes[symmetry];
+    }
+
+
+    /**
+     * Smallest of the hashes, which is the same for all the symmetric
+     * positions.
+     */
+    long canonical() {
+        long hash = hashes[0];
+
+        for (int symmetry = 1; symmetry < SYMMETRIES; symmetry++) {
+            hash = Math.min(hash, hashes[symmetry]);
+        }
+
+        return hash;
+    }
+}
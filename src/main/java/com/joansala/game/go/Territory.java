@@ -0,0 +1,224 @@
+package com.joansala.game.go;
+
+/*
+ * Aalina engine.
+ * Copyright (C) 2021-2024 Joan Sala Soler <contact@joansala.com>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+import com.joansala.game.go.attacks.Flood;
+import com.joansala.util.bits.Bitset;
+
+import static com.joansala.game.go.Go.*;
+
+
+/**
+ * Keeps the area score of a position up to date as stones are placed
+ * and removed from the board.
+ *
+ * Each empty region is owned by the player whose stones surround it
+ * or by none of them. Points that changed since the last evaluation
+ * are marked as dirty, and only the regions that contain a dirty point
+ * or are next to one can have a different owner; thus, those are the
+ * only regions filled again when the score is requested.
+ */
+final class Territory {
+
+    /** Bitboard operations for the board */
+    private final Flood flood;
+
+    /** Empty points owned by each player */
+    private final long[][] owned;
+
+    /** Points that changed since the last evaluation */
+    private final long[] dirty;
+
+    /** Black stones bitboard */
+    private final long[] black;
+
+    /** White stones bitboard */
+    private final long[] white;
+
+    /** Empty points bitboard */
+    private final long[] empty;
+
+    /** Empty points whose region must be filled */
+    private final long[] seeds;
+
+    /** Empty region being filled */
+    private final long[] area;
+
+    /** Working space for bitboard operations */
+    private final long[] scratch;
+
+    /** Score on the last evaluation */
+    private int score;
+
+
+    /**
+     * Creates a new territory for a board geometry.
+     *
+     * @param geometry  Board geometry
+     */
+    Territory(Geometry geometry) {
+        final int words = geometry.words();
+
+        this.flood = Flood.of(geometry);
+        this.owned = new long[PIECE_COUNT][words];
+        this.dirty = new long[words];
+        this.black = new long[words];
+        this.white = new long[words];
+        this.empty = new long[words];
+        this.seeds = new long[words];
+        this.area = new long[words];
+        this.scratch = new long[words];
+    }
+
+
+    /**
+     * Marks all the points as dirty, so the next evaluation fills
+     * every region of the board.
+     */
+    void reset() {
+        for (int i = 0; i < dirty.length; i++) {
+            dirty[i] = -1L;
+        }
+    }
+
+
+    /**
+     * Marks a point whose contents changed as dirty.
+     *
+     * @param point     Intersection point
+     */
+    void touch(int point) {
+        dirty[point >> 6] |= 1L << point;
+    }
+
+
+    /**
+     * Area score of a position. This is the number of stones plus the
+     * number of owned empty points of black minus those of white.
+     *
+     * @param state     Position bitboards
+     * @return          Score in centipawns
+     */
+    int evaluate(Bitset[] state) {
+        if (isClean()) {
+            return score;
+        }
+
+        flood.copy(state[BLACK], black);
+        flood.copy(state[WHITE], white);
+        flood.empty(black, white, empty);
+        flood.neighbors(dirty, seeds);
+
+        for (int i = 0; i < dirty.length; i++) {
+            seeds[i] = (seeds[i] | dirty[i]) & empty[i];
+            owned[BLACK][i] &= ~dirty[i];
+            owned[WHITE][i] &= ~dirty[i];
+            dirty[i] = 0L;
+        }
+
+        for (int i = 0; i < seeds.length; i++) {
+            while (seeds[i] != 0L) {
+                fill((i << 6) + Long.numberOfTrailingZeros(seeds[i]));
+                flood.neighbors(area, scratch);
+
+                if (!flood.intersects(scratch, black)) {
+                    claim(WHITE);
+                } else if (!flood.intersects(scratch, white)) {
+                    claim(BLACK);
+                } else {
+                    claim(-1);
+                }
+            }
+        }
+
+        final int blackScore = flood.count(black) + flood.count(owned[BLACK]);
+        final int whiteScore = flood.count(white) + flood.count(owned[WHITE]);
+
+        return score = STONE_SCORE * (blackScore - whiteScore);
+    }
+
+
+    /**
+     * Points owned by each player on a position. These are the stones
+     * of the player and the empty regions it surrounds.
+     *
+     * @param state     Position bitboards
+     * @param black     Bitboard where black points are stored
+     * @param white     Bitboard where white points are stored
+     */
+    void areas(Bitset[] state, long[] black, long[] white) {
+        evaluate(state);
+
+        for (int i = 0; i < dirty.length; i++) {
+            black[i] = this.black[i] | owned[BLACK][i];
+            white[i] = this.white[i] | owned[WHITE][i];
+        }
+    }
+
+
+    /**
+     * Check if no points changed since the last evaluation.
+     */
+    private boolean isClean() {
+        for (int i = 0; i < dirty.length; i++) {
+            if (dirty[i] != 0L) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+
+    /**
+     * Fills the area bitboard with the empty region that contains
+     * the given point.
+     *
+     * @param point     Empty start point
+     */
+    private void fill(int point) {
+        for (int i = 0; i < area.length; i++) {
+            area[i] = 0L;
+        }
+
+        area[point >> 6] = 1L << point;
+        flood.fill(area, empty, scratch);
+    }
+
+
+    /**
+     * Assigns the region on the area bitboard to a player and removes
+     * its points from the pending seeds.
+     *
+     * @param color     Owner color or {@code -1} if not owned
+     */
+    private void claim(int color) {
+        for (int i = 0; i < area.length; i++) {
+            owned[BLACK][i] &= ~area[i];
+            owned[WHITE][i] &= ~area[i];
+            seeds[i] &= ~area[i];
+        }
+
+        if (color != -1) {
+            for (int i = 0; i < area.length; i++) {
+                owned[color][i] |= area[i];
+            }
+        }
+    }
+}
@@ -0,0 +1,231 @@
+package com.joansala.game.go.attacks;
+
+/*
+ * Aalina engine.
+ * Copyright (C) 2021-2024 Joan Sala Soler <contact@joansala.com>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+import com.joansala.util.bits.Bitset;
+import com.joansala.game.go.Geometry;
+
+import static com.joansala.game.go.Go.*;
+
+
+/**
+ * Word-parallel geometry on bitboards of a square board.
+ *
+ * Bitboards are arrays of words where each intersection is stored on
+ * the bit with its same index. Neighbors of a whole set of points are
+ * obtained by shifting the words one file or one rank and masking out
+ * the bits that wrapped around the edges of the board. Bitboards of
+ * smaller boards have fewer words, so they are processed faster.
+ */
+public final class Flood {
+
+    /** Shared instance for each board size */
+    private static final Flood[] instances = new Flood[1 + BOARD_FILES];
+
+    /** Number of words on each bitboard */
+    private final int words;
+
+    /** Number of columns on the board */
+    private final int files;
+
+    /** Bits carried between words when shifting one rank */
+    private final int carry;
+
+    /** Intersections on the first file */
+    private final long[] first;
+
+    /** Intersections on the last file */
+    private final long[] last;
+
+    /** All the intersections on the board */
+    private final long[] board;
+
+
+    static {
+        for (int files : Geometry.SIZES) {
+            instances[files] = new Flood(Geometry.of(files));
+        }
+    }
+
+
+    /**
+     * Creates a new instance for a board geometry.
+     *
+     * @param geometry  Board geometry
+     */
+    private Flood(Geometry geometry) {
+        this.words = geometry.words();
+        this.files = geometry.files();
+        this.carry = Long.SIZE - files;
+        this.first = fileMask(geometry, 0);
+        this.last = fileMask(geometry, files - 1);
+        this.board = boardMask(geometry);
+    }
+
+
+    /**
+     * Obtain the instance for a board geometry.
+     *
+     * @param geometry  Board geometry
+     * @return          Shared instance
+     */
+    public static Flood of(Geometry geometry) {
+        return instances[geometry.files()];
+    }
+
+
+    /**
+     * Number of words on each bitboard.
+     */
+    public int words() {
+        return words;
+    }
+
+
+    /**
+     * Computes the points that are adjacent to any point of a set.
+     * The result may contain points of the set itself.
+     *
+     * @param points    Bitboard of points
+     * @param result    Bitboard where the neighbors are stored
+     */
+    public void neighbors(long[] points, long[] result) {
+        long previous = 0L;
+        long current = points[0];
+
+        for (int i = 0; i < words; i++) {
+            final long next = (i + 1 < words) ? points[i + 1] : 0L;
+            final long east = (current << 1 | previous >>> 63) & ~first[i];
+            final long west = (current >>> 1 | next << 63) & ~last[i];
+            final long north = current << files | previous >>> carry;
+            final long south = current >>> files | next << carry;
+
+            result[i] = (east | west | north | south) & board[i];
+            previous = current;
+            current = next;
+        }
+    }
+
+
+    /**
+     * Expands a set of points to all the points of a mask that are
+     * connected to it. Points of the set must be on the mask.
+     *
+     * @param area      Seed points and result bitboard
+     * @param mask      Bitboard of points that can be filled
+     * @param scratch   Bitboard used as working space
+     */
+    public void fill(long[] area, long[] mask, long[] scratch) {
+        boolean growing = true;
+
+        while (growing) {
+            growing = false;
+            neighbors(area, scratch);
+
+            for (int i = 0; i < words; i++) {
+                final long word = area[i] | (scratch[i] & mask[i]);
+                growing |= (word != area[i]);
+                area[i] = word;
+            }
+        }
+    }
+
+
+    /**
+     * Computes the empty points of a position.
+     *
+     * @param black     Black stones bitboard
+     * @param white     White stones bitboard
+     * @param result    Bitboard where empty points are stored
+     */
+    public void empty(long[] black, long[] white, long[] result) {
+        for (int i = 0; i < words; i++) {
+            result[i] = ~(black[i] | white[i]) & board[i];
+        }
+    }
+
+
+    /**
+     * Copies the words of a bitset into a bitboard.
+     *
+     * @param bitset    Source bitset
+     * @param result    Destination bitboard
+     */
+    public void copy(Bitset bitset, long[] result) {
+        for (int i = 0; i < words; i++) {
+            result[i] = bitset.word(i);
+        }
+    }
+
+
+    /**
+     * Number of points on a bitboard.
+     */
+    public int count(long[] points) {
+        int count = 0;
+
+        for (int i = 0; i < words; i++) {
+            count += Long.bitCount(points[i]);
+        }
+
+        return count;
+    }
+
+
+    /**
+     * Check if two bitboards have any points in common.
+     */
+    public boolean intersects(long[] points, long[] other) {
+        for (int i = 0; i < words; i++) {
+            if ((points[i] & other[i]) != 0L) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+
+    /**
+     * Bitboard with all the intersections of a file.
+     */
+    private static long[] fileMask(Geometry geometry, int file) {
+        long[] mask = new long[geometry.words()];
+
+        for (int point = file; point < geometry.size(); point += geometry.files()) {
+            mask[point >> 6] |= 1L << point;
+        }
+
+        return mask;
+    }
+
+
+    /**
+     * Bitboard with all the intersections of the board.
+     */
+    private static long[] boardMask(Geometry geometry) {
+        long[] mask = new long[geometry.words()];
+
+        for (int point = 0; point < geometry.size(); point++) {
+            mask[point >> 6] |= 1L << point;
+        }
+
+        return mask;
+    }
+}
@@ -20,17 +20,38 @@ package com.joansala.game.go.scorers;
 
 import com.joansala.engine.Scorer;
 import com.joansala.game.go.GoGame;
-import com.joansala.game.go.attacks.Point;
-import com.joansala.util.bits.Bitset;
+import com.joansala.game.go.attacks.Flood;
 
 import static com.joansala.game.go.Go.*;
 
 
 /**
+ * Scores positions by area, counting the stones of each player and the
+ * empty regions they surround.
  *
+ * Regions are filled with word-parallel dilations on bitboards that are
+ * allocated only once, so evaluating a position does not allocate any
+ * memory. Because of this, an instance must not be shared by games that
+ * are evaluated concurrently.
  */
 public final class AreaScorer implements Scorer<GoGame> {
 
+    /** Black stones bitboard */
+    private final long[] black = new long[BITSET_SIZE];
+
+    /** White stones bitboard */
+    private final long[] white = new long[BITSET_SIZE];
+
+    /** Empty points not yet visited */
+    private final long[] empty = new long[BITSET_SIZE];
+
+    /** Empty region being filled */
+    private final long[] area = new long[BITSET_SIZE];
+
+    /** Working space for bitboard operations */
+    private final long[] scratch = new long[BITSET_SIZE];
+
+
     /**
      * Compute the current score of the players.
      *
@@ -41,55 +62,72 @@ public final class AreaScorer implements Scorer<GoGame> {
      * @return          Accumulated scores for each player
      */
     public final int evaluate(GoGame game) {
-        Bitset areas = new Bitset(BITSET_SIZE);
-        int black = game.state(BLACK).count();
-        int white = game.state(WHITE).count();
-        int empty = 0;
-
-        for (int point = 0; point < BOARD_SIZE; point++) {
-            if (!areas.contains(point) && game.isEmptyPoint(point)) {
-                int[] counts = new int[2];
-                areas(game, areas, counts, point);
-                int count = areas.count() - empty;
-                empty += count;
-
-                if (counts[BLACK] == 0) {
-                    white += count;
-                } else if (counts[WHITE] == 0) {
-                    black += count;
+        final Flood flood = Flood.of(game.geometry());
+
+        flood.copy(game.state(BLACK), black);
+        flood.copy(game.state(WHITE), white);
+
+        return evaluate(flood, black, white);
+    }
+
+
+    /**
+     * Compute the score of the players on a position given as a pair
+     * of stone bitboards.
+     *
+     * @param flood     Bitboard operations for the board
+     * @param black     Black stones bitboard
+     * @param white     White stones bitboard
+     * @return          Accumulated scores for each player
+     */
+    public final int evaluate(Flood flood, long[] black, long[] white) {
+        final int words = flood.words();
+
+        flood.empty(black, white, empty);
+
+        int blackScore = flood.count(black);
+        int whiteScore = flood.count(white);
+
+        for (int i = 0; i < words; i++) {
+            while (empty[i] != 0L) {
+                final int seed = (i << 6) + Long.numberOfTrailingZeros(empty[i]);
+                final int count = areas(flood, seed);
+                flood.neighbors(area, scratch);
+
+                if (!flood.intersects(scratch, black)) {
+                    whiteScore += count;
+                } else if (!flood.intersects(scratch, white)) {
+                    blackScore += count;
                 }
             }
         }
 
-        return STONE_SCORE * (black - white);
+        return STONE_SCORE * (blackScore - whiteScore);
     }
 
 
     /**
-     * Fills a bitboard with a chain of empty intersections starting
-     * at the given point and counts the neighbors of each color.
-     * Notice that a neighbor stone may be counted multiple times.
+     * Fills the area bitboard with the empty intersections connected
+     * to the given seed point and removes them from the empty points.
      *
-     * @param areas     Bitset to fill
-     * @param counts    Array where counts are added
+     * @param flood     Bitboard operations
      * @param point     Empty start point
+     * @return          Number of points on the area
      */
-    private void areas(GoGame game, Bitset areas, int[] counts, int point) {
-        areas.insert(point);
-
-        final Bitset black = game.state(BLACK);
-        final Bitset white = game.state(WHITE);
-
-        for (int neighbor : Point.attacks(point)) {
-            if (areas.contains(neighbor) == false) {
-                if (black.contains(neighbor)) {
-                    counts[BLACK]++;
-                } else if (white.contains(neighbor)) {
-                    counts[WHITE]++;
-                } else {
-                    areas(game, areas, counts, neighbor);
-                }
-            }
+    private int areas(Flood flood, int point) {
+        final int words = flood.words();
+
+        for (int i = 0; i < words; i++) {
+            area[i] = 0L;
+        }
+
+        area[point >> 6] = 1L << point;
+        flood.fill(area, empty, scratch);
+
+        for (int i = 0; i < words; i++) {
+            empty[i] &= ~area[i];
         }
+
+        return flood.count(area);
     }
 }
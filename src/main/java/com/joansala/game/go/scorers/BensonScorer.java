@@ -0,0 +1,88 @@
+package com.joansala.game.go.scorers;
+
+/*
+ * Samurai framework.
+ * Copyright (C) 2024 Joan Sala Soler <contact@joansala.com>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation,  either version 3 of the License,  or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not,  see <http://www.gnu.org/licenses/>.
+ */
+
+import com.joansala.engine.Scorer;
+import com.joansala.game.go.Benson;
+import com.joansala.game.go.GoGame;
+import com.joansala.game.go.attacks.Flood;
+
+import static com.joansala.game.go.Go.*;
+
+
+/**
+ * Scores positions by area after finding the points that are settled
+ * for each player with Benson's algorithm.
+ *
+ * Settled points count for their owner even if they are empty or if
+ * they contain rival stones, which cannot live there. The rest of the
+ * board is scored as a {@code TrompTaylorScorer} would do, thus
+ * positions where nothing is settled obtain the same score. The
+ * analysis of a game position is obtained from the game, which shares
+ * it with its move generator.
+ */
+public final class BensonScorer implements Scorer<GoGame> {
+
+    /** Scorer for the position with the settled points resolved */
+    private final TrompTaylorScorer scorer = new TrompTaylorScorer();
+
+    /** Black stones and settled points */
+    private final long[] black = new long[BITSET_SIZE];
+
+    /** White stones and settled points */
+    private final long[] white = new long[BITSET_SIZE];
+
+
+    /**
+     * Compute the current score of the players.
+     *
+     * @return          Accumulated scores for each player
+     */
+    public final int evaluate(GoGame game) {
+        final Flood flood = Flood.of(game.geometry());
+
+        flood.copy(game.state(BLACK), black);
+        flood.copy(game.state(WHITE), white);
+
+        return evaluate(flood, game.lifeAnalysis(), black, white);
+    }
+
+
+    /**
+     * Compute the score of the players on a position given as a pair
+     * of stone bitboards. The given bitboards are not modified.
+     *
+     * @param flood     Bitboard operations for the board
+     * @param benson    Analyzer holding the analysis of the position
+     * @param black     Black stones bitboard
+     * @param white     White stones bitboard
+     * @return          Accumulated scores for each player
+     */
+    public final int evaluate(Flood flood, Benson benson, long[] black, long[] white) {
+        final long[] blackSettled = benson.settled(BLACK);
+        final long[] whiteSettled = benson.settled(WHITE);
+
+        for (int i = 0; i < flood.words(); i++) {
+            this.black[i] = (black[i] & ~whiteSettled[i]) | blackSettled[i];
+            this.white[i] = (white[i] & ~blackSettled[i]) | whiteSettled[i];
+        }
+
+        return scorer.evaluate(flood, this.black, this.white);
+    }
+}
@@ -0,0 +1,123 @@
+package com.joansala.game.go.scorers;
+
+/*
+ * Samurai framework.
+ * Copyright (C) 2024 Joan Sala Soler <contact@joansala.com>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation,  either version 3 of the License,  or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not,  see <http://www.gnu.org/licenses/>.
+ */
+
+import com.joansala.engine.Scorer;
+import com.joansala.game.go.GoGame;
+import com.joansala.game.go.attacks.Flood;
+
+import static com.joansala.game.go.Go.*;
+
+
+/**
+ * Estimates the score of positions that are not finished from the
+ * influence of the stones of each player.
+ *
+ * This is a binary form of Bouzy's dilation and erosion operators on
+ * bitboards. The areas of each player start as its stones and are
+ * first dilated, growing into the empty neighbor points that are not
+ * next to the area of the rival. Then they are eroded, losing the
+ * empty points that are next to any point outside the area. The first
+ * operator spreads influence and the second removes it from open or
+ * contested space, which leaves the points each player controls.
+ */
+public final class InfluenceScorer implements Scorer<GoGame> {
+
+    /** Number of dilations applied to each area */
+    public static final int DILATIONS = 4;
+
+    /** Number of erosions applied to each area */
+    public static final int EROSIONS = 3;
+
+    /** Empty points bitboard */
+    private final long[] empty = new long[BITSET_SIZE];
+
+    /** Black area bitboard */
+    private final long[] black = new long[BITSET_SIZE];
+
+    /** White area bitboard */
+    private final long[] white = new long[BITSET_SIZE];
+
+    /** Neighbors of the black area */
+    private final long[] blackReach = new long[BITSET_SIZE];
+
+    /** Neighbors of the white area */
+    private final long[] whiteReach = new long[BITSET_SIZE];
+
+    /** Points outside an area */
+    private final long[] outside = new long[BITSET_SIZE];
+
+    /** Neighbors of the points outside an area */
+    private final long[] frontier = new long[BITSET_SIZE];
+
+
+    /**
+     * Compute the estimated score of the players.
+     *
+     * @return          Accumulated scores for each player
+     */
+    public final int evaluate(GoGame game) {
+        final Flood flood = Flood.of(game.geometry());
+
+        flood.copy(game.state(BLACK), black);
+        flood.copy(game.state(WHITE), white);
+        flood.empty(black, white, empty);
+
+        for (int n = 0; n < DILATIONS; n++) {
+            dilate(flood);
+        }
+
+        for (int n = 0; n < EROSIONS; n++) {
+            erode(flood, black);
+            erode(flood, white);
+        }
+
+        return STONE_SCORE * (flood.count(black) - flood.count(white));
+    }
+
+
+    /**
+     * Grows both areas at once into the empty points that are next
+     * to them but not next to the area of the rival.
+     */
+    private void dilate(Flood flood) {
+        flood.neighbors(black, blackReach);
+        flood.neighbors(white, whiteReach);
+
+        for (int i = 0; i < flood.words(); i++) {
+            final long free = empty[i] & ~(black[i] | white[i]);
+            black[i] |= free & blackReach[i] & ~whiteReach[i];
+            white[i] |= free & whiteReach[i] & ~blackReach[i];
+        }
+    }
+
+
+    /**
+     * Removes from an area the empty points that are next to a point
+     * of the board that is not on the area. Stones are never removed.
+     */
+    private void erode(Flood flood, long[] area) {
+        flood.empty(area, area, outside);
+        flood.neighbors(outside, frontier);
+
+        for (int i = 0; i < flood.words(); i++) {
+            area[i] &= ~(empty[i] & frontier[i]);
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.joansala.game.go.scorers;
+
+/*
+ * Samurai framework.
+ * Copyright (C) 2024 Joan Sala Soler <contact@joansala.com>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation,  either version 3 of the License,  or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not,  see <http://www.gnu.org/licenses/>.
+ */
+
+import com.joansala.engine.Scorer;
+import com.joansala.game.go.GoGame;
+import com.joansala.game.go.attacks.Flood;
+
+import static com.joansala.game.go.Go.*;
+
+
+/**
+ * Scores the final positions of random playouts by area.
+ *
+ * Playouts where neither player fills its own eyes end when every empty
+ * point is an isolated point surrounded by stones, or a liberty shared
+ * by chains in seki. Isolated points are regions on their own, so they
+ * belong to a player if none of their neighbors is a rival stone. Shared
+ * liberties touch stones of both colors, so if every point of a larger
+ * region touches both colors the region belongs to none of them, just
+ * like each of its points. The score of those positions is obtained
+ * with a few neighbor masks and population counts, without filling any
+ * regions. Other positions are scored with an {@code AreaScorer}.
+ */
+public final class TrompTaylorScorer implements Scorer<GoGame> {
+
+    /** Scorer for positions with larger empty regions */
+    private final AreaScorer fallback = new AreaScorer();
+
+    /** Black stones bitboard */
+    private final long[] black = new long[BITSET_SIZE];
+
+    /** White stones bitboard */
+    private final long[] white = new long[BITSET_SIZE];
+
+    /** Empty points bitboard */
+    private final long[] empty = new long[BITSET_SIZE];
+
+    /** Neighbors of the empty points */
+    private final long[] liberties = new long[BITSET_SIZE];
+
+    /** Neighbors of the black stones */
+    private final long[] blackReach = new long[BITSET_SIZE];
+
+    /** Neighbors of the white stones */
+    private final long[] whiteReach = new long[BITSET_SIZE];
+
+
+    /**
+     * Compute the current score of the players.
+     *
+     * @return          Accumulated scores for each player
+     */
+    public final int evaluate(GoGame game) {
+        final Flood flood = Flood.of(game.geometry());
+
+        flood.copy(game.state(BLACK), black);
+        flood.copy(game.state(WHITE), white);
+
+        return evaluate(flood, black, white);
+    }
+
+
+    /**
+     * Compute the score of the players on a position given as a pair
+     * of stone bitboards.
+     *
+     * @param flood     Bitboard operations for the board
+     * @param black     Black stones bitboard
+     * @param white     White stones bitboard
+     * @return          Accumulated scores for each player
+     */
+    public final int evaluate(Flood flood, long[] black, long[] white) {
+        final int words = flood.words();
+
+        flood.empty(black, white, empty);
+        flood.neighbors(empty, liberties);
+        flood.neighbors(black, blackReach);
+        flood.neighbors(white, whiteReach);
+
+        for (int i = 0; i < words; i++) {
+            final long shared = blackReach[i] & whiteReach[i];
+
+            if ((empty[i] & liberties[i] & ~shared) != 0L) {
+                return fallback.evaluate(flood, black, white);
+            }
+        }
+
+        int blackScore = flood.count(black);
+        int whiteScore = flood.count(white);
+
+        for (int i = 0; i < words; i++) {
+            blackScore += Long.bitCount(empty[i] & ~whiteReach[i]);
+            whiteScore += Long.bitCount(empty[i] & ~blackReach[i]);
+        }
+
+        return STONE_SCORE * (blackScore - whiteScore);
+    }
+}
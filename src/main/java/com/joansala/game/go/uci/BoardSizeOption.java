@@ -0,0 +1,76 @@
+package com.joansala.game.go.uci;
+
+/*
+ * Copyright (C) 2014-2024 Joan Sala Soler <contact@joansala.com>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+import com.joansala.uci.UCIService;
+import com.joansala.uci.util.ComboOption;
+import com.joansala.game.go.Geometry;
+import com.joansala.game.go.GoBoard;
+import com.joansala.game.go.GoGame;
+import static com.joansala.game.go.Go.*;
+
+
+/**
+ * Number of files and ranks of the board. Only the sizes listed on
+ * {@link Geometry#SIZES} are offered.
+ */
+public class BoardSizeOption extends ComboOption {
+
+    /**
+     * Creates a new option instance.
+     */
+    public BoardSizeOption() {
+        super(String.valueOf(BOARD_FILES), sizes());
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    public void initialize(UCIService service) {
+        GoGame game = (GoGame) service.getGame().cast();
+        game.setBoard(new GoBoard(BOARD_FILES));
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    public void handle(UCIService service, String value) {
+        GoGame game = (GoGame) service.getGame().cast();
+        int files = Integer.parseInt(value);
+
+        game.setBoard(new GoBoard(files));
+        service.debug("Board size is now " + files + "x" + files);
+    }
+
+
+    /**
+     * Values of the option for each supported board size.
+     */
+    private static String[] sizes() {
+        String[] values = new String[Geometry.SIZES.length];
+
+        for (int i = 0; i < values.length; i++) {
+            values[i] = String.valueOf(Geometry.SIZES[i]);
+        }
+
+        return values;
+    }
+}
@@ -0,0 +1,65 @@
+package com.joansala.game.go.uci;
+
+/*
+ * Copyright (C) 2014-2024 Joan Sala Soler <contact@joansala.com>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+import com.joansala.uci.UCIService;
+import com.joansala.uci.util.ComboOption;
+import com.joansala.game.go.GoGame;
+import com.joansala.game.go.scorers.InfluenceScorer;
+
+
+/**
+ * Function used to evaluate positions that are not final.
+ */
+public class EvaluationOption extends ComboOption {
+
+    /** Exact area score of the position */
+    public static final String AREA = "Area";
+
+    /** Estimated score from the influence of the stones */
+    public static final String INFLUENCE = "Influence";
+
+
+    /**
+     * Creates a new option instance.
+     */
+    public EvaluationOption() {
+        super(AREA, AREA, INFLUENCE);
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    public void initialize(UCIService service) {
+        GoGame game = (GoGame) service.getGame().cast();
+        game.setHeuristic(null);
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    public void handle(UCIService service, String value) {
+        GoGame game = (GoGame) service.getGame().cast();
+        service.debug("Evaluation function is now " + value);
+        game.setHeuristic(INFLUENCE.equals(value) ?
+            new InfluenceScorer() : null);
+    }
+}
@@ -0,0 +1,57 @@
+package com.joansala.game.go.uci;
+
+/*
+ * Copyright (C) 2014-2024 Joan Sala Soler <contact@joansala.com>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+import com.joansala.uci.UCIService;
+import com.joansala.uci.util.SpinOption;
+import com.joansala.game.go.GoGame;
+import static com.joansala.game.go.Go.*;
+
+
+/**
+ * Stone difference that ends a game early. Zero disables it.
+ */
+public class MercyOption extends SpinOption {
+
+    /**
+     * Creates a new option instance.
+     */
+    public MercyOption() {
+        super(0, 0, BOARD_SIZE);
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    public void initialize(UCIService service) {
+        GoGame game = (GoGame) service.getGame().cast();
+        game.setMercyThreshold(0);
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    public void handle(UCIService service, int value) {
+        GoGame game = (GoGame) service.getGame().cast();
+        service.debug("Mercy threshold is now " + value + " stones");
+        game.setMercyThreshold(value);
+    }
+}
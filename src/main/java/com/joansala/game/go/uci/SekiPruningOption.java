@@ -0,0 +1,57 @@
+package com.joansala.game.go.uci;
+
+/*
+ * Copyright (C) 2014-2024 Joan Sala Soler <contact@joansala.com>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+import com.joansala.uci.UCIService;
+import com.joansala.uci.util.CheckOption;
+import com.joansala.game.go.GoGame;
+
+
+/**
+ * Skip moves on seki points when generating moves. Those moves are
+ * only skipped by the search; they are still legal moves.
+ */
+public class SekiPruningOption extends CheckOption {
+
+    /**
+     * Creates a new option instance.
+     */
+    public SekiPruningOption() {
+        super(false);
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    public void initialize(UCIService service) {
+        GoGame game = (GoGame) service.getGame().cast();
+        game.setSekiPruning(false);
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    public void handle(UCIService service, boolean active) {
+        GoGame game = (GoGame) service.getGame().cast();
+        service.debug("Seki pruning is now " + (active ? "on" : "off"));
+        game.setSekiPruning(active);
+    }
+}
@@ -0,0 +1,58 @@
+package com.joansala.game.go.uci;
+
+/*
+ * Copyright (C) 2014-2024 Joan Sala Soler <contact@joansala.com>
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+
+
+import com.joansala.uci.UCIService;
+import com.joansala.uci.util.CheckOption;
+import com.joansala.game.go.GoGame;
+
+
+/**
+ * Skip moves on settled points when generating moves and score
+ * final positions counting settled points for their owners. Those
+ * moves are only skipped by the search; they are still legal moves.
+ */
+public class SettledPruningOption extends CheckOption {
+
+    /**
+     * Creates a new option instance.
+     */
+    public SettledPruningOption() {
+        super(false);
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    public void initialize(UCIService service) {
+        GoGame game = (GoGame) service.getGame().cast();
+        game.setSettledPruning(false);
+    }
+
+
+    /**
+     * {@inheritDoc}
+     */
+    public void handle(UCIService service, boolean active) {
+        GoGame game = (GoGame) service.getGame().cast();
+        service.debug("Settled pruning is now " + (active ? "on" : "off"));
+        game.setSettledPruning(active);
+    }
+}
@@ -0,0 +1,182 @@
+package com.joansala.test.game.go;
+
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.joansala.engine.Game;
+import com.joansala.game.go.Benson;
+import com.joansala.game.go.GoBoard;
+import com.joansala.game.go.GoGame;
+import com.joansala.game.go.scorers.AreaScorer;
+import com.joansala.game.go.scorers.BensonScorer;
+import com.joansala.util.bits.Bitset;
+import static com.joansala.game.go.Go.*;
+
+
+@DisplayName("Benson analysis")
+public class BensonTest {
+
+    /** Black stones of the test position */
+    private static final String BLACK_STONES =
+        "b1 f1 g1 h1 j1 a2 b2 c2 d2 e2 f2 g2 h2 j2 " +
+        "a3 b3 c3 d3 e3 f3 g3 h3 j3";
+
+    /** White stones of the test position */
+    private static final String WHITE_STONES =
+        "d1 a8 b8 c8 d8 e8 f8 g8 h8 j8 b9 c9 d9 e9 f9 g9 h9 j9";
+
+
+    @Test()
+    @DisplayName("chains with two vital regions are alive")
+    void ChainsWithTwoVitalRegionsAreAlive() {
+        GoBoard board = testBoard();
+        Benson benson = analyze(board);
+
+        for (String point : BLACK_STONES.split(" ")) {
+            assertTrue(contains(benson.alive(BLACK), board.toMove(point)));
+        }
+    }
+
+
+    @Test()
+    @DisplayName("chains with a single eye are not alive")
+    void ChainsWithASingleEyeAreNotAlive() {
+        Benson benson = analyze(testBoard());
+
+        assertTrue(isEmpty(benson.alive(WHITE)), "alive stones");
+        assertTrue(isEmpty(benson.settled(WHITE)), "settled points");
+    }
+
+
+    @Test()
+    @DisplayName("vital regions are settled")
+    void VitalRegionsAreSettled() {
+        GoBoard board = testBoard();
+        Benson benson = analyze(board);
+
+        for (String point : "a1 c1 d1 e1".split(" ")) {
+            assertTrue(contains(benson.settled(BLACK), board.toMove(point)));
+        }
+
+        assertFalse(contains(benson.settled(BLACK), board.toMove("e5")));
+    }
+
+
+    @Test()
+    @DisplayName("settled points are not generated when pruning")
+    void SettledPointsAreNotGeneratedWhenPruning() {
+        GoBoard board = testBoard();
+        GoGame game = new GoGame();
+        int point = board.toMove("a1");
+
+        game.setBoard(board);
+        assertTrue(contains(game.legalMoves(), point));
+        game.setSettledPruning(true);
+        assertFalse(contains(game.legalMoves(), point));
+        assertTrue(contains(game.legalMoves(), board.toMove("e5")));
+    }
+
+
+    @Test()
+    @DisplayName("settled points are scored for their owner")
+    void SettledPointsAreScoredForTheirOwner() {
+        GoGame game = new GoGame();
+        game.setBoard(testBoard());
+
+        int area = new AreaScorer().evaluate(game);
+        int settled = new BensonScorer().evaluate(game);
+        assertEquals(4 * STONE_SCORE, settled - area);
+    }
+
+
+    @Test()
+    @DisplayName("life analysis follows the game position")
+    void LifeAnalysisFollowsTheGamePosition() {
+        GoBoard board = testBoard();
+        GoGame game = new GoGame();
+        int point = board.toMove("a1");
+
+        game.setBoard(board);
+        Benson benson = game.lifeAnalysis();
+        assertTrue(contains(benson.settled(BLACK), point));
+        assertSame(benson, game.lifeAnalysis());
+
+        game.makeMove(point);
+        game.makeMove(board.geometry().forfeit());
+        assertFalse(contains(game.lifeAnalysis().settled(BLACK), point));
+
+        game.unmakeMove();
+        game.unmakeMove();
+        assertTrue(contains(game.lifeAnalysis().settled(BLACK), point));
+
+        game.setBoard(new GoBoard(9));
+        assertFalse(contains(game.lifeAnalysis().settled(BLACK), point));
+    }
+
+
+    /**
+     * A 9x9 board where black has a living wall and white a wall with
+     * a single eye. Black is to move.
+     */
+    private static GoBoard testBoard() {
+        GoBoard board = new GoBoard(9);
+        Bitset[] position = board.position();
+
+        for (String point : BLACK_STONES.split(" ")) {
+            position[BLACK].insert(board.toMove(point));
+        }
+
+        for (String point : WHITE_STONES.split(" ")) {
+            position[WHITE].insert(board.toMove(point));
+        }
+
+        return new GoBoard(board.geometry(), position, Game.SOUTH, -1);
+    }
+
+
+    /**
+     * Analyzes the given board.
+     */
+    private static Benson analyze(GoBoard board) {
+        Bitset[] position = board.position();
+        Benson benson = new Benson(board.geometry());
+        benson.analyze(position[BLACK], position[WHITE]);
+        return benson;
+    }
+
+
+    /**
+     * Check if a bitboard contains a point.
+     */
+    private static boolean contains(long[] bitboard, int point) {
+        return (bitboard[point >> 6] & (1L << point)) != 0L;
+    }
+
+
+    /**
+     * Check if a bitboard does not contain any points.
+     */
+    private static boolean isEmpty(long[] bitboard) {
+        for (long word : bitboard) {
+            if (word != 0L) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+
+    /**
+     * Check if an array of moves contains a move.
+     */
+    private static boolean contains(int[] moves, int move) {
+        for (int value : moves) {
+            if (value == move) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+}
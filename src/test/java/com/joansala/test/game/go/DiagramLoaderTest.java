@@ -0,0 +1,190 @@
+package com.joansala.test.game.go;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.sun.management.ThreadMXBean;
+import com.joansala.game.go.DiagramLoader;
+import com.joansala.game.go.GoBoard;
+import com.joansala.game.go.GoGame;
+import com.joansala.util.suites.Suite;
+import com.joansala.util.suites.SuiteReader;
+
+
+@DisplayName("Diagram loader")
+public class DiagramLoaderTest {
+
+    /** Test suite file path */
+    private static String SUITE_PATH = "go-bench.suite";
+
+    /** Number of times each diagram is loaded on benchmarks */
+    private static final int ROUNDS = 20;
+
+
+    @ParameterizedTest()
+    @MethodSource("suites")
+    @DisplayName("loaded games match the games set from boards")
+    void LoadedGamesMatchBoards(Suite suite) {
+        DiagramLoader loader = new DiagramLoader();
+        GoGame loaded = new GoGame();
+        GoGame expected = new GoGame();
+
+        for (String diagram : diagrams(suite)) {
+            GoBoard board = new GoBoard().toBoard(diagram);
+
+            expected.setBoard(board);
+            loader.load(loaded, diagram);
+
+            assertEquals(diagram.length(), loader.load(loaded, diagram));
+            assertEquals(expected.hash(), loaded.hash());
+            assertEquals(expected.turn(), loaded.turn());
+            assertEquals(expected.score(), loaded.score());
+            assertArrayEquals(expected.legalMoves(), loaded.legalMoves());
+            assertEquals(board.toDiagram(), loaded.getBoard().toDiagram());
+        }
+    }
+
+
+    @Test()
+    @DisplayName("loading returns the index that follows the diagram")
+    void LoadingReturnsTheEndOfTheDiagram() {
+        DiagramLoader loader = new DiagramLoader();
+        GoGame game = new GoGame();
+        String diagram = "9/9/9/9/4X4/9/9/9/9 w -";
+        String text = "> " + diagram + " moves e4";
+
+        assertEquals(2 + diagram.length(), loader.load(game, text, 2));
+        assertEquals(9, game.geometry().files());
+        assertEquals(diagram, game.getBoard().toDiagram());
+    }
+
+
+    @Test()
+    @DisplayName("invalid diagrams are rejected")
+    void InvalidDiagramsAreRejected() {
+        DiagramLoader loader = new DiagramLoader();
+        GoGame game = new GoGame();
+
+        assertThrows(IllegalArgumentException.class, () -> loader.load(game, ""));
+        assertThrows(IllegalArgumentException.class, () -> loader.load(game, "9/9/9 b -"));
+        assertThrows(IllegalArgumentException.class, () -> loader.load(game, "9/9/9/9/9/9/9/9/8 b -"));
+        assertThrows(IllegalArgumentException.class, () -> loader.load(game, "9/9/9/9/9/9/9/9/9 x -"));
+        assertThrows(IllegalArgumentException.class, () -> loader.load(game, "9/9/9/9/9/9/9/9/8Z b -"));
+        assertThrows(IllegalArgumentException.class, () -> loader.load(game, "9/9/9/9/9/9/9/9/9 b z9"));
+    }
+
+
+    @ParameterizedTest()
+    @MethodSource("suites")
+    @DisplayName("loading does not allocate memory")
+    void LoadingDoesNotAllocate(Suite suite) {
+        ThreadMXBean bean = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long thread = Thread.currentThread().getId();
+        DiagramLoader loader = new DiagramLoader();
+        List<String> diagrams = diagrams(suite);
+        GoGame game = new GoGame();
+
+        load(loader, game, diagrams);
+        long start = bean.getThreadAllocatedBytes(thread);
+        load(loader, game, diagrams);
+        long allocated = bean.getThreadAllocatedBytes(thread) - start;
+        assertEquals(0L, allocated, "bytes allocated");
+    }
+
+
+    @ParameterizedTest()
+    @MethodSource("suites")
+    @DisplayName("loading is faster than setting parsed boards")
+    void LoadingThroughput(Suite suite) {
+        DiagramLoader loader = new DiagramLoader();
+        List<String> diagrams = diagrams(suite);
+        GoGame game = new GoGame();
+        long loading = Long.MAX_VALUE;
+        long setting = Long.MAX_VALUE;
+
+        for (int round = 0; round < ROUNDS; round++) {
+            long start = System.nanoTime();
+            load(loader, game, diagrams);
+            loading = Math.min(loading, System.nanoTime() - start);
+
+            start = System.nanoTime();
+            set(game, diagrams);
+            setting = Math.min(setting, System.nanoTime() - start);
+        }
+
+        assertTrue(loading < setting, String.format(
+            "%d ns loading, %d ns setting", loading, setting));
+    }
+
+
+    /**
+     * Loads each diagram into a game a number of times.
+     */
+    private static void load(DiagramLoader loader, GoGame game, List<String> diagrams) {
+        for (int round = 0; round < ROUNDS; round++) {
+            for (int i = 0; i < diagrams.size(); i++) {
+                loader.load(game, diagrams.get(i));
+            }
+        }
+    }
+
+
+    /**
+     * Parses each diagram into a board and sets it on a game a number
+     * of times.
+     */
+    private static void set(GoGame game, List<String> diagrams) {
+        GoBoard parser = new GoBoard();
+
+        for (int round = 0; round < ROUNDS; round++) {
+            for (int i = 0; i < diagrams.size(); i++) {
+                game.setBoard(parser.toBoard(diagrams.get(i)));
+            }
+        }
+    }
+
+
+    /**
+     * Diagrams of the positions reached on a suite game.
+     */
+    private static List<String> diagrams(Suite suite) {
+        GoBoard board = new GoBoard().toBoard(suite.diagram());
+        int[] moves = board.toMoves(suite.notation());
+        List<String> diagrams = new ArrayList<>();
+        GoGame game = new GoGame();
+
+        game.setBoard(board);
+        game.ensureCapacity(moves.length);
+        diagrams.add(board.toDiagram());
+
+        for (int move : moves) {
+            game.makeMove(move);
+            diagrams.add(game.toBoard().toDiagram());
+        }
+
+        return diagrams;
+    }
+
+
+    /**
+     * Stream of game suites to test.
+     */
+    public static Stream<Suite> suites() throws Exception {
+        SuiteReader reader = new SuiteReader(SUITE_PATH);
+        return reader.stream().onClose(() -> close(reader));
+    }
+
+
+    /**
+     * Close an open autoclosable instance.
+     */
+    private static void close(AutoCloseable closeable) {
+        try { closeable.close(); } catch (Exception e) {}
+    }
+}
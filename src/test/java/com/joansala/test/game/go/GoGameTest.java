@@ -1,14 +1,27 @@
 package com.joansala.test.game.go;
 
+import java.lang.management.ManagementFactory;
+import java.util.Random;
 import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.sun.management.ThreadMXBean;
 import com.joansala.engine.Game;
 import com.joansala.test.engine.GameContract;
+import com.joansala.game.go.Geometry;
+import com.joansala.game.go.GoBoard;
 import com.joansala.game.go.GoGame;
+import com.joansala.game.go.scorers.AreaScorer;
+import static com.joansala.game.go.Go.*;
 
 
 @DisplayName("Go game")
 public class GoGameTest implements GameContract {
 
+    /** Games played before measuring memory allocations */
+    private static final int WARMUP_GAMES = 10;
+
+
     /**
      * {@inheritDoc}
      */
@@ -16,4 +29,278 @@ public class GoGameTest implements GameContract {
     public Game newInstance() {
         return new GoGame();
     }
+
+
+    @Test()
+    @DisplayName("move generation does not allocate memory")
+    void MoveGenerationDoesNotAllocate() {
+        for (int i = 0; i < WARMUP_GAMES; i++) {
+            sweepRandomGame(new GoGame(), new Random(i));
+        }
+
+        GoGame.moveCache().clear();
+        long allocated = sweepRandomGame(new GoGame(), new Random(WARMUP_GAMES));
+        assertEquals(0L, allocated, "bytes allocated");
+    }
+
+
+    @Test()
+    @DisplayName("games can be played on every board size")
+    void GamesCanBePlayedOnEveryBoardSize() {
+        for (int files : Geometry.SIZES) {
+            GoGame game = new GoGame();
+            GoBoard board = new GoBoard(files);
+            Random random = new Random(files);
+
+            game.setBoard(board);
+            game.ensureCapacity(200);
+
+            while (game.length() < 200 && !game.hasEnded()) {
+                int move = pickMove(game, random.nextInt(countMoves(game)));
+                assertTrue(move <= files * files, "move on the board");
+                game.makeMove(move);
+            }
+
+            GoBoard played = game.toBoard();
+            assertEquals(played.toDiagram(), board.toBoard(played.toDiagram()).toDiagram());
+
+            game.unmakeMoves(game.length());
+            assertEquals(board.toDiagram(), game.toBoard().toDiagram());
+        }
+    }
+
+
+    @Test()
+    @DisplayName("incremental score matches the area scorer")
+    void IncrementalScoreMatchesTheAreaScorer() {
+        AreaScorer scorer = new AreaScorer();
+        Random random = new Random(7);
+        GoGame game = new GoGame();
+
+        game.ensureCapacity(400);
+
+        for (int step = 0; step < 2000 && game.length() < 400; step++) {
+            if (game.length() > 0 && random.nextInt(4) == 0) {
+                game.unmakeMove();
+            } else if (!game.hasEnded()) {
+                game.makeMove(pickMove(game, random.nextInt(countMoves(game))));
+            }
+
+            if (random.nextInt(3) == 0) {
+                int expected = scorer.evaluate(game) - DEFAULT_KOMI;
+                assertEquals(expected, game.score(), "score");
+            }
+        }
+    }
+
+
+    @Test()
+    @DisplayName("the liberty of chains in atari is found")
+    void LibertyOfChainsInAtariIsFound() {
+        GoBoard board = new GoBoard();
+        GoGame game = new GoGame();
+
+        game.setBoard(board);
+
+        for (String point : "d4 c4 q16 e4 q15 d5".split(" ")) {
+            game.makeMove(board.toMove(point));
+        }
+
+        assertEquals(board.toMove("d3"), game.lastLiberty(board.toMove("d4")));
+        assertEquals(Game.NULL_MOVE, game.lastLiberty(board.toMove("q16")));
+        assertEquals(Game.NULL_MOVE, game.lastLiberty(board.toMove("d3")));
+
+        for (String point : "d3 c3 q14 e3".split(" ")) {
+            game.makeMove(board.toMove(point));
+        }
+
+        assertEquals(board.toMove("d2"), game.lastLiberty(board.toMove("d4")));
+        assertEquals(board.toMove("d2"), game.lastLiberty(board.toMove("d3")));
+
+        game.unmakeMove();
+        assertEquals(Game.NULL_MOVE, game.lastLiberty(board.toMove("d4")));
+    }
+
+
+    @Test()
+    @DisplayName("mercy rule ends games with a large stone difference")
+    void MercyRuleEndsGamesWithALargeStoneDifference() {
+        GoBoard board = new GoBoard();
+        GoGame game = new GoGame();
+
+        game.setBoard(board);
+        game.setMercyThreshold(3);
+
+        for (String point : "a1 b1 c1".split(" ")) {
+            game.makeMove(board.toMove(point));
+            game.makeMove(FORFEIT_MOVE);
+            assertFalse(game.hasEnded());
+        }
+
+        game.makeMove(board.toMove("d1"));
+        assertTrue(game.hasEnded());
+        assertEquals(Game.SOUTH, game.winner());
+
+        game.unmakeMove();
+        assertFalse(game.hasEnded());
+    }
+
+
+    @Test()
+    @DisplayName("terminal status follows the current position")
+    void TerminalStatusFollowsTheCurrentPosition() {
+        GoGame game = new GoGame();
+
+        game.makeMove(FORFEIT_MOVE);
+        assertFalse(game.hasEnded());
+        game.makeMove(FORFEIT_MOVE);
+        assertTrue(game.hasEnded());
+        assertEquals(Game.NORTH, game.winner());
+
+        game.setKomiScore(-INFINITY_SCORE - STONE_SCORE);
+        assertEquals(Game.SOUTH, game.winner());
+
+        game.unmakeMove();
+        assertFalse(game.hasEnded());
+        game.makeMove(FORFEIT_MOVE);
+        assertTrue(game.hasEnded());
+
+        game.unmakeMoves(game.length());
+        assertFalse(game.hasEnded());
+    }
+
+
+    @Test()
+    @DisplayName("stored terminal status follows the mercy threshold")
+    void StoredStatusFollowsTheMercyThreshold() {
+        GoBoard board = new GoBoard();
+        GoGame game = new GoGame();
+
+        game.setBoard(board);
+
+        game.makeMove(board.toMove("a1"));
+        game.makeMove(FORFEIT_MOVE);
+        game.makeMove(board.toMove("b1"));
+        assertFalse(game.hasEnded());
+        game.makeMove(board.toMove("a2"));
+        assertFalse(game.hasEnded());
+
+        game.setMercyThreshold(1);
+        assertFalse(game.hasEnded());
+        game.unmakeMove();
+        assertTrue(game.hasEnded());
+        game.unmakeMove();
+        assertFalse(game.hasEnded());
+    }
+
+
+    @Test()
+    @DisplayName("wide keys follow the moves made and taken back")
+    void WideKeysFollowTheMoves() {
+        Random random = new Random(4);
+        GoGame game = new GoGame();
+        GoGame copy = new GoGame();
+
+        game.setWideKeys(true);
+        copy.setWideKeys(true);
+        game.ensureCapacity(200);
+
+        while (game.length() < 200 && !game.hasEnded()) {
+            game.makeMove(pickMove(game, random.nextInt(countMoves(game))));
+
+            if (random.nextInt(4) == 0) {
+                game.unmakeMoves(random.nextInt(1 + game.length()));
+            }
+
+            copy.setBoard(game.toBoard());
+            assertEquals(copy.hash(), game.hash());
+            assertEquals(copy.wideHash(), game.wideHash());
+            assertNotEquals(0L, game.wideHash());
+        }
+    }
+
+
+    @Test()
+    @DisplayName("wide keys do not change the moves or the outcome")
+    void WideKeysDoNotChangeTheGame() {
+        Random random = new Random(5);
+        GoGame game = new GoGame();
+        GoGame wide = new GoGame();
+
+        wide.setWideKeys(true);
+
+        while (!game.hasEnded()) {
+            int count = countMoves(game);
+            int move = pickMove(game, random.nextInt(count));
+
+            assertEquals(count, countMoves(wide));
+            assertFalse(wide.hasEnded());
+            game.ensureCapacity(1 + game.length());
+            wide.ensureCapacity(1 + wide.length());
+            game.makeMove(move);
+            wide.makeMove(move);
+        }
+
+        assertTrue(wide.hasEnded());
+        assertEquals(game.outcome(), wide.outcome());
+        assertEquals(0L, game.wideHash());
+
+        game.setWideKeys(true);
+        assertEquals(wide.wideHash(), game.wideHash());
+        assertTrue(game.hasEnded());
+    }
+
+
+    /**
+     * Plays a random game and measures the heap memory allocated while
+     * generating all the legal moves of each of its positions.
+     *
+     * @return          Allocated bytes
+     */
+    private static long sweepRandomGame(GoGame game, Random random) {
+        ThreadMXBean bean = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long thread = Thread.currentThread().getId();
+        long allocated = 0L;
+
+        game.ensureCapacity(200);
+
+        while (game.length() < 200 && !game.hasEnded()) {
+            long start = bean.getThreadAllocatedBytes(thread);
+            int count = countMoves(game);
+            allocated += bean.getThreadAllocatedBytes(thread) - start;
+            game.makeMove(pickMove(game, random.nextInt(count)));
+        }
+
+        return allocated;
+    }
+
+
+    /**
+     * Counts the legal moves on the current position.
+     */
+    private static int countMoves(GoGame game) {
+        int count = 0;
+
+        game.resetCursor();
+
+        while (game.nextMove() != Game.NULL_MOVE) {
+            count++;
+        }
+
+        return count;
+    }
+
+
+    /**
+     * Obtains the legal move found on the given generation order.
+     */
+    private static int pickMove(GoGame game, int order) {
+        game.resetCursor();
+
+        for (int i = 0; i < order; i++) {
+            game.nextMove();
+        }
+
+        return game.nextMove();
+    }
 }
@@ -0,0 +1,111 @@
+package com.joansala.test.game.go;
+
+import java.util.Random;
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.joansala.game.go.GoGame;
+import com.joansala.game.go.MoveCache;
+import static com.joansala.game.go.Go.*;
+
+
+@DisplayName("Move cache")
+public class MoveCacheTest {
+
+    /** Number of random moves made on each game */
+    private static final int MOVES = 200;
+
+
+    @Test()
+    @DisplayName("stored move sets are found")
+    void StoredMoveSetsAreFound() {
+        MoveCache cache = new MoveCache(16);
+        long[] moves = new long[BITSET_SIZE];
+
+        cache.put(0L, new long[] { 1L, 2L, 3L, 4L, 5L, 6L });
+        cache.put(0x1234567890ABCDEFL, new long[] { -1L, 0L, 0L, 0L, 0L, 7L });
+
+        assertTrue(cache.get(0L, moves));
+        assertArrayEquals(new long[] { 1L, 2L, 3L, 4L, 5L, 6L }, moves);
+        assertTrue(cache.get(0x1234567890ABCDEFL, moves));
+        assertArrayEquals(new long[] { -1L, 0L, 0L, 0L, 0L, 7L }, moves);
+        assertEquals(2L, cache.hits());
+        assertEquals(0L, cache.misses());
+    }
+
+
+    @Test()
+    @DisplayName("missing keys are reported")
+    void MissingKeysAreReported() {
+        MoveCache cache = new MoveCache(16);
+        long[] moves = new long[2];
+
+        assertFalse(cache.get(0L, moves));
+        cache.put(1L, new long[] { 1L, 0L });
+        cache.put(17L, new long[] { 2L, 0L });
+
+        assertFalse(cache.get(1L, moves));
+        assertTrue(cache.get(17L, moves));
+        assertEquals(2L, moves[0]);
+        assertEquals(1L, cache.hits());
+        assertEquals(2L, cache.misses());
+    }
+
+
+    @Test()
+    @DisplayName("clear removes all the entries")
+    void ClearRemovesAllTheEntries() {
+        MoveCache cache = new MoveCache(16);
+        long[] moves = new long[1];
+
+        cache.put(5L, new long[] { 3L });
+        cache.clear();
+
+        assertFalse(cache.get(5L, moves));
+        assertEquals(0L, cache.hits());
+        assertEquals(1L, cache.misses());
+    }
+
+
+    @Test()
+    @DisplayName("cached moves match the generated moves")
+    void CachedMovesMatchGeneratedMoves() {
+        MoveCache cache = GoGame.moveCache();
+        GoGame game = new GoGame();
+        int[] played = new int[MOVES];
+        int[][] expected = new int[MOVES][];
+        Random random = new Random(1);
+        int length = 0;
+
+        game.ensureCapacity(MOVES);
+
+        while (length < MOVES && !game.hasEnded()) {
+            cache.clear();
+            int[] moves = game.legalMoves();
+            expected[length] = moves;
+            played[length] = moves[random.nextInt(moves.length)];
+            game.makeMove(played[length++]);
+        }
+
+        cache.clear();
+        assertMoves(expected, played, length);
+        long hits = cache.hits();
+        assertMoves(expected, played, length);
+        assertTrue(cache.hits() - hits > length / 2);
+    }
+
+
+    /**
+     * Replays a game on a new instance asserting that the legal moves
+     * of each position are the expected ones.
+     */
+    private static void assertMoves(int[][] expected, int[] played, int length) {
+        GoGame game = new GoGame();
+        game.ensureCapacity(length);
+
+        for (int n = 0; n < length; n++) {
+            assertArrayEquals(expected[n], game.legalMoves());
+            game.makeMove(played[n]);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.joansala.test.game.go;
+
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.joansala.game.go.GoBoard;
+import com.joansala.game.go.GoGame;
+import com.joansala.game.go.Ownership;
+import static com.joansala.game.go.Go.*;
+
+
+@DisplayName("Ownership map")
+public class OwnershipTest {
+
+    /** Positions accumulated by each thread */
+    private static final int THREAD_SAMPLES = 1000;
+
+
+    @Test()
+    @DisplayName("owned points are accumulated")
+    void OwnedPointsAreAccumulated() {
+        GoBoard board = new GoBoard(9);
+        GoGame game = new GoGame();
+        Ownership ownership = new Ownership(board.geometry());
+
+        game.setBoard(board);
+        game.makeMove(board.toMove("e5"));
+        game.accumulate(ownership);
+
+        assertEquals(1.0, ownership.ownership(board.toMove("a1")));
+        assertEquals(81 * STONE_SCORE, ownership.expectedScore());
+
+        game.makeMove(board.toMove("c3"));
+        game.accumulate(ownership);
+
+        assertEquals(2, ownership.samples());
+        assertEquals(1.0, ownership.ownership(board.toMove("e5")));
+        assertEquals(0.5, ownership.ownership(board.toMove("a1")));
+        assertEquals(0.0, ownership.ownership(board.toMove("c3")));
+    }
+
+
+    @Test()
+    @DisplayName("concurrent updates are not lost")
+    void ConcurrentUpdatesAreNotLost() throws Exception {
+        GoBoard board = new GoBoard(9);
+        Ownership ownership = new Ownership(board.geometry());
+        Thread[] threads = new Thread[4];
+
+        for (int i = 0; i < threads.length; i++) {
+            threads[i] = new Thread(() -> {
+                GoGame game = new GoGame();
+                game.setBoard(board);
+                game.makeMove(board.toMove("e5"));
+
+                for (int n = 0; n < THREAD_SAMPLES; n++) {
+                    game.accumulate(ownership);
+                }
+            });
+        }
+
+        for (Thread thread : threads) thread.start();
+        for (Thread thread : threads) thread.join();
+
+        int samples = threads.length * THREAD_SAMPLES;
+        assertEquals(samples, ownership.samples());
+        assertEquals(samples, ownership.count(BLACK, board.toMove("a1")));
+        assertEquals(0, ownership.count(WHITE, board.toMove("a1")));
+    }
+
+
+    @Test()
+    @DisplayName("clear removes all the samples")
+    void ClearRemovesAllTheSamples() {
+        GoBoard board = new GoBoard(9);
+        GoGame game = new GoGame();
+        Ownership ownership = new Ownership(board.geometry());
+
+        game.setBoard(board);
+        game.makeMove(board.toMove("e5"));
+        game.accumulate(ownership);
+        ownership.clear();
+
+        assertEquals(0, ownership.samples());
+        assertEquals(0.0, ownership.ownership(board.toMove("a1")));
+    }
+}
@@ -0,0 +1,179 @@
+package com.joansala.test.game.go;
+
+import java.lang.management.ManagementFactory;
+import java.util.Random;
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.sun.management.ThreadMXBean;
+import com.joansala.engine.Game;
+import com.joansala.game.go.Geometry;
+import com.joansala.game.go.GoBoard;
+import com.joansala.game.go.GoGame;
+import com.joansala.game.go.Ownership;
+import com.joansala.game.go.Playout;
+import com.joansala.util.bits.Bitset;
+import static com.joansala.game.go.Go.*;
+
+
+@DisplayName("Playout runner")
+public class PlayoutTest {
+
+    /** Number of playouts run on each test */
+    private static final int PLAYOUTS = 200;
+
+
+    @Test()
+    @DisplayName("playouts do not modify the game")
+    void PlayoutsDoNotModifyTheGame() {
+        GoGame game = randomGame(new Random(1), 60);
+        Playout playout = new Playout(game.geometry(), 1L);
+        String diagram = game.toBoard().toDiagram();
+        long hash = game.hash();
+        int length = game.length();
+
+        for (int i = 0; i < PLAYOUTS; i++) {
+            int outcome = playout.play(game);
+            assertTrue(Math.abs(outcome) == INFINITY_SCORE || outcome == Game.DRAW_SCORE);
+        }
+
+        assertEquals(hash, game.hash());
+        assertEquals(length, game.length());
+        assertEquals(diagram, game.toBoard().toDiagram());
+    }
+
+
+    @Test()
+    @DisplayName("finished games return their outcome")
+    void FinishedGamesReturnTheirOutcome() {
+        GoGame game = new GoGame();
+        Playout playout = new Playout(game.geometry(), 1L);
+
+        game.makeMove(FORFEIT_MOVE);
+        game.makeMove(FORFEIT_MOVE);
+        assertEquals(game.outcome(), playout.play(game));
+    }
+
+
+    @Test()
+    @DisplayName("settled positions are won by every playout")
+    void SettledPositionsAreWon() {
+        GoGame game = settledGame();
+        Playout playout = new Playout(game.geometry(), 1L);
+
+        for (int i = 0; i < PLAYOUTS; i++) {
+            assertEquals(INFINITY_SCORE, playout.play(game));
+        }
+    }
+
+
+    @Test()
+    @DisplayName("final positions are scored as the game scores them")
+    void FinalPositionsAreScoredAsTheGame() {
+        GoGame game = settledGame();
+        Playout playout = new Playout(game.geometry(), 1L);
+        int forfeit = game.geometry().forfeit();
+
+        for (boolean prune : new boolean[] { false, true }) {
+            game.setSettledPruning(prune);
+
+            for (int stones = 8; stones <= 10; stones++) {
+                game.setKomiScore(stones * STONE_SCORE);
+                int outcome = playout.play(game);
+
+                game.makeMove(forfeit);
+                game.makeMove(forfeit);
+                assertEquals(game.outcome(), outcome);
+                game.unmakeMoves(2);
+            }
+        }
+    }
+
+
+    @Test()
+    @DisplayName("final positions are accumulated on the ownership map")
+    void FinalPositionsAreAccumulated() {
+        GoGame game = settledGame();
+        Ownership ownership = new Ownership(game.geometry());
+        Playout playout = new Playout(game.geometry(), 1L);
+        playout.setOwnership(ownership);
+
+        for (int i = 0; i < PLAYOUTS; i++) {
+            playout.play(game);
+        }
+
+        assertEquals(PLAYOUTS, ownership.samples());
+        assertEquals(1.0, ownership.ownership(9));
+        assertEquals(-1.0, ownership.ownership(17));
+        assertEquals(9 * STONE_SCORE, ownership.expectedScore());
+    }
+
+
+    @Test()
+    @DisplayName("games on other boards are rejected")
+    void OtherBoardsAreRejected() {
+        Playout playout = new Playout(Geometry.of(9), 1L);
+        assertThrows(IllegalArgumentException.class, () -> playout.play(new GoGame()));
+    }
+
+
+    @Test()
+    @DisplayName("playouts do not allocate memory")
+    void PlayoutsDoNotAllocate() {
+        ThreadMXBean bean = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long thread = Thread.currentThread().getId();
+        GoGame game = randomGame(new Random(2), 30);
+        Playout playout = new Playout(game.geometry(), 2L);
+
+        playout.play(game);
+        long start = bean.getThreadAllocatedBytes(thread);
+        playout.play(game);
+        long allocated = bean.getThreadAllocatedBytes(thread) - start;
+        assertEquals(0L, allocated, "bytes allocated");
+    }
+
+
+    /**
+     * Plays random moves from the start position, never forfeiting
+     * the turn while other moves are available.
+     */
+    private static GoGame randomGame(Random random, int length) {
+        GoGame game = new GoGame();
+        game.ensureCapacity(length);
+
+        for (int n = 0; n < length && !game.hasEnded(); n++) {
+            int[] moves = game.legalMoves();
+            int count = moves.length - 1;
+            game.makeMove(count == 0 ? FORFEIT_MOVE :
+                moves[random.nextInt(count)]);
+        }
+
+        return game;
+    }
+
+
+    /**
+     * Game on a 9x9 board split by two walls of stones, each of them
+     * with two eyes. Black owns the five files on the left.
+     */
+    private static GoGame settledGame() {
+        GoBoard board = new GoBoard(9);
+        Bitset[] position = board.position();
+        GoGame game = new GoGame();
+
+        for (int point = 0; point < 81; point++) {
+            int file = point % 9;
+            int rank = point / 9;
+
+            if (rank == 1 || rank == 5) {
+                if (file == 0 || file == 8) continue;
+            }
+
+            position[file < 5 ? BLACK : WHITE].insert(point);
+        }
+
+        game.setBoard(new GoBoard(board.geometry(), position, Game.NORTH, -1));
+
+        return game;
+    }
+}
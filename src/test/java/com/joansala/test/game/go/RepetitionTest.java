@@ -0,0 +1,146 @@
+package com.joansala.test.game.go;
+
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.joansala.engine.Game;
+import com.joansala.game.go.GoBoard;
+import com.joansala.game.go.GoGame;
+import com.joansala.util.bits.Bitset;
+import static com.joansala.game.go.Go.*;
+
+
+@DisplayName("Position repetitions")
+public class RepetitionTest {
+
+    /** Number of files of the board */
+    private static final int FILES = 19;
+
+
+    @Test()
+    @DisplayName("positions repeated after captures end the game")
+    void RepeatedPositionsEndTheGame() {
+        GoGame game = doubleKoGame();
+        int[] cycle = doubleKoCycle();
+
+        for (int n = 0; n < cycle.length - 1; n++) {
+            game.makeMove(cycle[n]);
+            assertFalse(game.hasEnded());
+        }
+
+        game.makeMove(cycle[cycle.length - 1]);
+        assertTrue(game.hasEnded());
+    }
+
+
+    @Test()
+    @DisplayName("repetitions are found after growing and unwinding")
+    void RepetitionsAreFoundAfterGrowingAndUnwinding() {
+        GoGame game = doubleKoGame();
+        int[] cycle = doubleKoCycle();
+
+        for (int round = 0; round < 3; round++) {
+            playFiller(game);
+
+            for (int n = 0; n < cycle.length; n++) {
+                game.ensureCapacity(game.length() + 1 + n * 100);
+                game.makeMove(cycle[n]);
+                assertEquals(n == cycle.length - 1, game.hasEnded());
+            }
+
+            for (int n = cycle.length - 1; n > 0; n--) {
+                game.unmakeMove();
+                assertFalse(game.hasEnded());
+            }
+
+            game.makeMove(cycle[1]);
+            game.unmakeMove();
+            game.unmakeMove();
+            assertFalse(game.hasEnded());
+            game.unmakeMoves(game.length());
+        }
+    }
+
+
+    @Test()
+    @DisplayName("taken back positions are not repetitions")
+    void TakenBackPositionsAreNotRepetitions() {
+        GoGame game = doubleKoGame();
+        int[] cycle = doubleKoCycle();
+
+        for (int n = 0; n < cycle.length; n++) {
+            game.makeMove(cycle[n]);
+        }
+
+        assertTrue(game.hasEnded());
+        game.unmakeMoves(game.length());
+
+        game.makeMove(cycle[0]);
+        game.makeMove(cycle[1]);
+        game.makeMove(point(5, 0));
+        game.makeMove(cycle[3]);
+        game.makeMove(cycle[4]);
+        game.makeMove(FORFEIT_MOVE);
+        assertFalse(game.hasEnded());
+    }
+
+
+    /**
+     * Moves that take two kos in turns and bring the stones and the
+     * turn back to the start position of {@link #doubleKoGame()}.
+     */
+    private static int[] doubleKoCycle() {
+        return new int[] {
+            point(2, 1),    // Black takes the first ko
+            point(2, 6),    // White takes the second ko
+            FORFEIT_MOVE,
+            point(1, 1),    // White takes the first ko back
+            point(1, 6),    // Black takes the second ko back
+            FORFEIT_MOVE
+        };
+    }
+
+
+    /**
+     * Game on a 19x19 board with two kos, where black can take the
+     * first one and white can take the second one. Black moves.
+     */
+    private static GoGame doubleKoGame() {
+        GoBoard board = new GoBoard(FILES);
+        Bitset[] position = board.position();
+        GoGame game = new GoGame();
+
+        int[][] black = { {1, 0}, {0, 1}, {1, 2}, {2, 5}, {1, 6}, {3, 6}, {2, 7} };
+        int[][] white = { {2, 0}, {1, 1}, {3, 1}, {2, 2}, {1, 5}, {0, 6}, {1, 7} };
+
+        for (int[] stone : black) position[BLACK].insert(point(stone[0], stone[1]));
+        for (int[] stone : white) position[WHITE].insert(point(stone[0], stone[1]));
+
+        game.setBoard(new GoBoard(board.geometry(), position, Game.SOUTH, -1));
+
+        return game;
+    }
+
+
+    /**
+     * Fills two walls on the upper side of the board without any
+     * captures, so the history grows before the kos are played.
+     */
+    private static void playFiller(GoGame game) {
+        for (int file = 0; file < FILES; file++) {
+            for (int rank = 10; rank < 12; rank++) {
+                game.ensureCapacity(2 + game.length());
+                game.makeMove(point(file, rank));
+                game.makeMove(point(file, rank + 5));
+            }
+        }
+    }
+
+
+    /**
+     * Intersection point of a file and rank.
+     */
+    private static int point(int file, int rank) {
+        return rank * FILES + file;
+    }
+}
@@ -0,0 +1,55 @@
+package com.joansala.test.game.go;
+
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.joansala.game.go.ScoreCache;
+
+
+@DisplayName("Score cache")
+public class ScoreCacheTest {
+
+    @Test()
+    @DisplayName("stored scores are found")
+    void StoredScoresAreFound() {
+        ScoreCache cache = new ScoreCache(16);
+
+        cache.put(0L, 0);
+        cache.put(0x1234567890ABCDEFL, -650);
+
+        assertEquals(0, cache.get(0L));
+        assertEquals(-650, cache.get(0x1234567890ABCDEFL));
+        assertEquals(2L, cache.hits());
+        assertEquals(0L, cache.misses());
+    }
+
+
+    @Test()
+    @DisplayName("missing keys are reported")
+    void MissingKeysAreReported() {
+        ScoreCache cache = new ScoreCache(16);
+
+        assertEquals(ScoreCache.MISSING, cache.get(0L));
+        cache.put(1L, 100);
+        cache.put(17L, 200);
+
+        assertEquals(ScoreCache.MISSING, cache.get(1L));
+        assertEquals(200, cache.get(17L));
+        assertEquals(1L, cache.hits());
+        assertEquals(2L, cache.misses());
+    }
+
+
+    @Test()
+    @DisplayName("clear removes all the entries")
+    void ClearRemovesAllTheEntries() {
+        ScoreCache cache = new ScoreCache(16);
+
+        cache.put(5L, 300);
+        cache.clear();
+
+        assertEquals(ScoreCache.MISSING, cache.get(5L));
+        assertEquals(0L, cache.hits());
+        assertEquals(1L, cache.misses());
+    }
+}
@@ -0,0 +1,98 @@
+package com.joansala.test.game.go;
+
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.joansala.engine.Game;
+import com.joansala.game.go.GoBoard;
+import com.joansala.game.go.GoGame;
+import com.joansala.util.bits.Bitset;
+import static com.joansala.game.go.Go.*;
+
+
+@DisplayName("Seki detection")
+public class SekiTest {
+
+    /** Black stones of the test position */
+    private static final String BLACK_STONES =
+        "b1 c1 a2 b2 c2 a4 b4 c4 d4 e4 f4 g4 h4 j4";
+
+    /** White stones of the test position */
+    private static final String WHITE_STONES =
+        "e1 f1 h1 j1 d2 e2 f2 g2 h2 j2 " +
+        "a3 b3 c3 d3 e3 f3 g3 h3 j3";
+
+
+    @Test()
+    @DisplayName("shared liberties of chains in seki are seki points")
+    void SharedLibertiesAreSekiPoints() {
+        GoBoard board = testBoard();
+        GoGame game = new GoGame();
+
+        game.setBoard(board);
+        assertTrue(game.isSekiPoint(board.toMove("d1")));
+    }
+
+
+    @Test()
+    @DisplayName("eyes and open points are not seki points")
+    void EyesAndOpenPointsAreNotSekiPoints() {
+        GoBoard board = testBoard();
+        GoGame game = new GoGame();
+
+        game.setBoard(board);
+        assertFalse(game.isSekiPoint(board.toMove("a1")));
+        assertFalse(game.isSekiPoint(board.toMove("g1")));
+        assertFalse(game.isSekiPoint(board.toMove("e5")));
+    }
+
+
+    @Test()
+    @DisplayName("seki points are not generated when pruning")
+    void SekiPointsAreNotGeneratedWhenPruning() {
+        GoBoard board = testBoard();
+        GoGame game = new GoGame();
+        int point = board.toMove("d1");
+
+        game.setBoard(board);
+        assertTrue(contains(game.legalMoves(), point));
+        game.setSekiPruning(true);
+        assertFalse(contains(game.legalMoves(), point));
+        assertTrue(contains(game.legalMoves(), board.toMove("a1")));
+    }
+
+
+    /**
+     * A 9x9 board where a black chain with an eye on the corner and
+     * a white chain with an eye on the first rank share a liberty.
+     * Black is to move.
+     */
+    private static GoBoard testBoard() {
+        GoBoard board = new GoBoard(9);
+        Bitset[] position = board.position();
+
+        for (String point : BLACK_STONES.split(" ")) {
+            position[BLACK].insert(board.toMove(point));
+        }
+
+        for (String point : WHITE_STONES.split(" ")) {
+            position[WHITE].insert(board.toMove(point));
+        }
+
+        return new GoBoard(board.geometry(), position, Game.SOUTH, -1);
+    }
+
+
+    /**
+     * Check if an array of moves contains a move.
+     */
+    private static boolean contains(int[] moves, int move) {
+        for (int value : moves) {
+            if (value == move) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+}
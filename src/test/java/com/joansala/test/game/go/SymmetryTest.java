@@ -0,0 +1,156 @@
+package com.joansala.test.game.go;
+
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.joansala.game.go.GoBoard;
+import com.joansala.game.go.GoGame;
+import com.joansala.util.bits.Bitset;
+import static com.joansala.game.go.Go.*;
+
+
+@DisplayName("Symmetric hashes")
+public class SymmetryTest {
+
+    /** Number of symmetries of the board */
+    private static final int SYMMETRIES = 8;
+
+    /** Number of random moves made on each game */
+    private static final int MOVES = 200;
+
+
+    @Test()
+    @DisplayName("the identity symmetry is the position hash")
+    void IdentityIsThePositionHash() {
+        Random random = new Random(1);
+        GoGame game = new GoGame();
+
+        for (int n = 0; n < MOVES && !game.hasEnded(); n++) {
+            game.makeMove(randomMove(game, random));
+            assertEquals(game.hash(), game.hash(0));
+        }
+
+        while (game.length() > 0) {
+            game.unmakeMove();
+            assertEquals(game.hash(), game.hash(0));
+        }
+    }
+
+
+    @Test()
+    @DisplayName("incremental hashes match the recomputed ones")
+    void IncrementalHashesMatchRecomputedOnes() {
+        Random random = new Random(2);
+        GoGame game = new GoGame();
+
+        for (int n = 0; n < MOVES && !game.hasEnded(); n++) {
+            game.makeMove(randomMove(game, random));
+
+            if (random.nextInt(4) == 0) {
+                game.unmakeMoves(random.nextInt(1 + game.length()));
+            }
+
+            GoGame copy = new GoGame();
+            copy.setBoard(game.toBoard());
+
+            for (int symmetry = 0; symmetry < SYMMETRIES; symmetry++) {
+                assertEquals(copy.hash(symmetry), game.hash(symmetry));
+            }
+        }
+    }
+
+
+    @Test()
+    @DisplayName("symmetric positions share the canonical hash")
+    void SymmetricPositionsShareTheCanonicalHash() {
+        Random random = new Random(3);
+        GoGame game = new GoGame();
+
+        for (int n = 0; n < MOVES && !game.hasEnded(); n++) {
+            game.makeMove(randomMove(game, random));
+        }
+
+        GoBoard board = game.toBoard();
+        long[] expected = hashes(game);
+
+        for (int symmetry = 1; symmetry < SYMMETRIES; symmetry++) {
+            GoGame rotated = new GoGame();
+            rotated.setBoard(transform(board, symmetry));
+            assertEquals(game.canonicalHash(), rotated.canonicalHash());
+            assertArrayEquals(expected, hashes(rotated));
+        }
+    }
+
+
+    @Test()
+    @DisplayName("different positions have different canonical hashes")
+    void DifferentPositionsHaveDifferentHashes() {
+        GoBoard board = new GoBoard();
+        GoGame first = new GoGame();
+        GoGame second = new GoGame();
+
+        first.makeMove(board.toMove("d4"));
+        second.makeMove(board.toMove("d5"));
+        assertNotEquals(first.canonicalHash(), second.canonicalHash());
+
+        first.makeMove(board.toMove("q16"));
+        second.makeMove(board.toMove("q16"));
+        assertNotEquals(first.canonicalHash(), second.canonicalHash());
+    }
+
+
+    /**
+     * Sorted hashes of a game on all the symmetries.
+     */
+    private static long[] hashes(GoGame game) {
+        long[] hashes = new long[SYMMETRIES];
+
+        for (int symmetry = 0; symmetry < SYMMETRIES; symmetry++) {
+            hashes[symmetry] = game.hash(symmetry);
+        }
+
+        Arrays.sort(hashes);
+        return hashes;
+    }
+
+
+    /**
+     * Rotates or mirrors the stones of a board. Odd symmetries mirror
+     * the files, the second pair mirrors the ranks and the last four
+     * transpose the board.
+     */
+    private static GoBoard transform(GoBoard board, int symmetry) {
+        Bitset[] position = board.position();
+        Bitset[] result = new GoBoard().position();
+        int last = BOARD_FILES - 1;
+
+        for (int color = 0; color < PIECE_COUNT; color++) {
+            for (int point = 0; point < BOARD_SIZE; point++) {
+                if (position[color].contains(point)) {
+                    int file = point % BOARD_FILES;
+                    int rank = point / BOARD_FILES;
+                    int x = (symmetry & 4) == 0 ? file : rank;
+                    int y = (symmetry & 4) == 0 ? rank : file;
+                    if ((symmetry & 1) != 0) x = last - x;
+                    if ((symmetry & 2) != 0) y = last - y;
+                    result[color].insert(y * BOARD_FILES + x);
+                }
+            }
+        }
+
+        return new GoBoard(result, board.turn());
+    }
+
+
+    /**
+     * Picks a random move that does not forfeit the turn, unless it
+     * is the only legal move.
+     */
+    private static int randomMove(GoGame game, Random random) {
+        int[] moves = game.legalMoves();
+        int count = moves.length - 1;
+        return count == 0 ? FORFEIT_MOVE : moves[random.nextInt(count)];
+    }
+}
@@ -0,0 +1,98 @@
+package com.joansala.test.game.go.scorers;
+
+import java.lang.management.ManagementFactory;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.sun.management.ThreadMXBean;
+import com.joansala.game.go.GoBoard;
+import com.joansala.game.go.GoGame;
+import com.joansala.game.go.scorers.AreaScorer;
+import com.joansala.util.suites.Suite;
+import com.joansala.util.suites.SuiteReader;
+
+
+@DisplayName("Area scorer")
+public class AreaScorerTest {
+
+    /** Test suite file path */
+    private static String SUITE_PATH = "go-bench.suite";
+
+
+    @ParameterizedTest()
+    @MethodSource("suites")
+    @DisplayName("scores match the legacy scorer")
+    void ScoresMatchTheLegacyScorer(Suite suite) {
+        AreaScorer scorer = new AreaScorer();
+        LegacyAreaScorer legacy = new LegacyAreaScorer();
+        GoGame game = startGame(suite);
+
+        for (int move : toMoves(suite)) {
+            assertEquals(legacy.evaluate(game), scorer.evaluate(game));
+            game.makeMove(move);
+        }
+
+        assertEquals(legacy.evaluate(game), scorer.evaluate(game));
+    }
+
+
+    @ParameterizedTest()
+    @MethodSource("suites")
+    @DisplayName("scoring does not allocate memory")
+    void ScoringDoesNotAllocate(Suite suite) {
+        ThreadMXBean bean = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long thread = Thread.currentThread().getId();
+        AreaScorer scorer = new AreaScorer();
+        GoGame game = startGame(suite);
+
+        for (int move : toMoves(suite)) {
+            game.makeMove(move);
+        }
+
+        scorer.evaluate(game);
+        long start = bean.getThreadAllocatedBytes(thread);
+        scorer.evaluate(game);
+        long allocated = bean.getThreadAllocatedBytes(thread) - start;
+        assertEquals(0L, allocated, "bytes allocated");
+    }
+
+
+    /**
+     * Creates a game on the start position of a suite.
+     */
+    private static GoGame startGame(Suite suite) {
+        GoBoard board = new GoBoard().toBoard(suite.diagram());
+        GoGame game = new GoGame();
+        game.setBoard(board);
+        game.ensureCapacity(toMoves(suite).length);
+        return game;
+    }
+
+
+    /**
+     * Moves to perform on the start position of a suite.
+     */
+    private static int[] toMoves(Suite suite) {
+        return new GoBoard().toMoves(suite.notation());
+    }
+
+
+    /**
+     * Stream of game suites to test.
+     */
+    public static Stream<Suite> suites() throws Exception {
+        SuiteReader reader = new SuiteReader(SUITE_PATH);
+        return reader.stream().onClose(() -> close(reader));
+    }
+
+
+    /**
+     * Close an open autoclosable instance.
+     */
+    private static void close(AutoCloseable closeable) {
+        try { closeable.close(); } catch (Exception e) {}
+    }
+}
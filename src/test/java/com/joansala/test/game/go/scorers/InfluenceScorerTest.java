@@ -0,0 +1,141 @@
+package com.joansala.test.game.go.scorers;
+
+import java.util.Random;
+import java.lang.management.ManagementFactory;
+import org.junit.jupiter.api.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.sun.management.ThreadMXBean;
+import com.joansala.engine.Game;
+import com.joansala.game.go.GoBoard;
+import com.joansala.game.go.GoGame;
+import com.joansala.game.go.scorers.AreaScorer;
+import com.joansala.game.go.scorers.InfluenceScorer;
+import com.joansala.util.bits.Bitset;
+import static com.joansala.game.go.Go.*;
+
+
+@DisplayName("Influence scorer")
+public class InfluenceScorerTest {
+
+    /** Number of random positions to score */
+    private static final int POSITIONS = 20;
+
+    /** Number of random moves made on each position */
+    private static final int MOVES = 120;
+
+
+    @Test()
+    @DisplayName("empty boards are even")
+    void EmptyBoardsAreEven() {
+        InfluenceScorer scorer = new InfluenceScorer();
+
+        for (int size : new int[] { 9, 13, 19 }) {
+            GoGame game = new GoGame();
+            game.setBoard(new GoBoard(size));
+            assertEquals(0, scorer.evaluate(game));
+        }
+    }
+
+
+    @Test()
+    @DisplayName("a lone stone controls its surroundings")
+    void LoneStoneControlsItsSurroundings() {
+        InfluenceScorer scorer = new InfluenceScorer();
+        GoBoard board = new GoBoard();
+        GoGame game = new GoGame();
+
+        game.setBoard(board);
+        game.makeMove(board.toMove("k10"));
+
+        int score = scorer.evaluate(game);
+        assertTrue(score > STONE_SCORE);
+        assertTrue(score < BOARD_SIZE * STONE_SCORE);
+    }
+
+
+    @Test()
+    @DisplayName("split boards match the area scorer")
+    void SplitBoardsMatchTheAreaScorer() {
+        GoBoard board = new GoBoard(9);
+        Bitset[] position = board.position();
+        GoGame game = new GoGame();
+
+        for (int point = 0; point < 81; point++) {
+            if (point % 9 < 4) position[BLACK].insert(point);
+            if (point % 9 > 5) position[WHITE].insert(point);
+        }
+
+        game.setBoard(new GoBoard(board.geometry(), position, Game.SOUTH, -1));
+        assertEquals(new AreaScorer().evaluate(game), new InfluenceScorer().evaluate(game));
+    }
+
+
+    @Test()
+    @DisplayName("swapping the colors negates the score")
+    void SwappingTheColorsNegatesTheScore() {
+        InfluenceScorer scorer = new InfluenceScorer();
+        Random random = new Random(1);
+
+        for (int i = 0; i < POSITIONS; i++) {
+            GoGame game = randomGame(random);
+            GoGame swapped = new GoGame();
+            GoBoard board = game.toBoard();
+            Bitset[] position = board.position();
+
+            swapped.setBoard(new GoBoard(board.geometry(),
+                new Bitset[] { position[WHITE], position[BLACK] },
+                Game.SOUTH, -1));
+
+            assertEquals(-scorer.evaluate(game), scorer.evaluate(swapped));
+        }
+    }
+
+
+    @Test()
+    @DisplayName("game scores use the heuristic when set")
+    void GameScoresUseTheHeuristic() {
+        InfluenceScorer scorer = new InfluenceScorer();
+        GoGame game = randomGame(new Random(2));
+
+        game.setHeuristic(scorer);
+        assertEquals(scorer.evaluate(game) - DEFAULT_KOMI, game.score());
+        game.setHeuristic(null);
+        assertEquals(new AreaScorer().evaluate(game) - DEFAULT_KOMI, game.score());
+    }
+
+
+    @Test()
+    @DisplayName("scoring does not allocate memory")
+    void ScoringDoesNotAllocate() {
+        ThreadMXBean bean = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long thread = Thread.currentThread().getId();
+        InfluenceScorer scorer = new InfluenceScorer();
+        GoGame game = randomGame(new Random(3));
+
+        scorer.evaluate(game);
+        long start = bean.getThreadAllocatedBytes(thread);
+        scorer.evaluate(game);
+        long allocated = bean.getThreadAllocatedBytes(thread) - start;
+        assertEquals(0L, allocated, "bytes allocated");
+    }
+
+
+    /**
+     * Plays random moves from the start position, never forfeiting
+     * the turn while other moves are available.
+     */
+    private static GoGame randomGame(Random random) {
+        GoGame game = new GoGame();
+        game.ensureCapacity(MOVES);
+
+        for (int n = 0; n < MOVES && !game.hasEnded(); n++) {
+            int[] moves = game.legalMoves();
+            int count = moves.length - 1;
+            game.makeMove(count == 0 ? FORFEIT_MOVE :
+                moves[random.nextInt(count)]);
+        }
+
+        return game;
+    }
+}
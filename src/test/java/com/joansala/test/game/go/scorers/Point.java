@@ -1,8 +1,8 @@
-package com.joansala.game.go.attacks;
+package com.joansala.test.game.go.scorers;
 
 
 /**
- * Intersection neighbors table.
+ * Intersection neighbors table of the 19x19 board.
  */
 public final class Point {
 
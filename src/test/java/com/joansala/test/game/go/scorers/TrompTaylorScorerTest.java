@@ -0,0 +1,141 @@
+package com.joansala.test.game.go.scorers;
+
+import java.util.Random;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import static org.junit.jupiter.api.Assertions.*;
+
+import com.joansala.engine.Game;
+import com.joansala.game.go.GoBoard;
+import com.joansala.game.go.GoGame;
+import com.joansala.game.go.scorers.AreaScorer;
+import com.joansala.game.go.scorers.TrompTaylorScorer;
+import com.joansala.util.bits.Bitset;
+import com.joansala.util.suites.Suite;
+import com.joansala.util.suites.SuiteReader;
+import static com.joansala.game.go.Go.*;
+
+
+@DisplayName("Tromp-Taylor scorer")
+public class TrompTaylorScorerTest {
+
+    /** Test suite file path */
+    private static String SUITE_PATH = "go-bench.suite";
+
+    /** Number of random playouts to score */
+    private static final int PLAYOUTS = 20;
+
+
+    @ParameterizedTest()
+    @MethodSource("suites")
+    @DisplayName("scores match the area scorer")
+    void ScoresMatchTheAreaScorer(Suite suite) {
+        AreaScorer expected = new AreaScorer();
+        TrompTaylorScorer scorer = new TrompTaylorScorer();
+        GoBoard board = new GoBoard().toBoard(suite.diagram());
+        int[] moves = board.toMoves(suite.notation());
+        GoGame game = new GoGame();
+
+        game.setBoard(board);
+        game.ensureCapacity(moves.length);
+
+        for (int move : moves) {
+            assertEquals(expected.evaluate(game), scorer.evaluate(game));
+            game.makeMove(move);
+        }
+
+        assertEquals(expected.evaluate(game), scorer.evaluate(game));
+    }
+
+
+    @Test()
+    @DisplayName("playout scores match the area scorer")
+    void PlayoutScoresMatchTheAreaScorer() {
+        AreaScorer expected = new AreaScorer();
+        TrompTaylorScorer scorer = new TrompTaylorScorer();
+        Random random = new Random(1);
+
+        for (int i = 0; i < PLAYOUTS; i++) {
+            GoGame game = new GoGame();
+            playout(game, random);
+            assertEquals(expected.evaluate(game), scorer.evaluate(game));
+        }
+    }
+
+
+    @Test()
+    @DisplayName("shared liberties are not owned")
+    void SharedLibertiesAreNotOwned() {
+        GoBoard board = new GoBoard(9);
+        Bitset[] position = board.position();
+        GoGame game = new GoGame();
+
+        for (int point = 0; point < 81; point++) {
+            if (point % 9 < 4) position[BLACK].insert(point);
+            if (point % 9 > 4) position[WHITE].insert(point);
+        }
+
+        game.setBoard(new GoBoard(board.geometry(), position, Game.SOUTH, -1));
+        assertEquals(new AreaScorer().evaluate(game), new TrompTaylorScorer().evaluate(game));
+        assertEquals(0, new TrompTaylorScorer().evaluate(game));
+    }
+
+
+    /**
+     * Plays random moves until both players forfeit their turns. The
+     * players never fill their own single-point eyes and they only
+     * forfeit when no other move can be played.
+     */
+    private static void playout(GoGame game, Random random) {
+        while (!game.hasEnded()) {
+            game.ensureCapacity(1 + game.length());
+            int[] moves = game.legalMoves();
+            int count = 0;
+
+            for (int move : moves) {
+                if (move != FORFEIT_MOVE && !isOwnEye(game, move)) {
+                    moves[count++] = move;
+                }
+            }
+
+            game.makeMove(count == 0 ? FORFEIT_MOVE :
+                moves[random.nextInt(count)]);
+        }
+    }
+
+
+    /**
+     * Check if all the neighbors of a point are stones of the player
+     * to move.
+     */
+    private static boolean isOwnEye(GoGame game, int point) {
+        Bitset stones = game.state(game.turn() == Game.SOUTH ? BLACK : WHITE);
+        int file = point % BOARD_FILES;
+
+        if (file > 0 && !stones.contains(point - 1)) return false;
+        if (file < BOARD_FILES - 1 && !stones.contains(point + 1)) return false;
+        if (point >= BOARD_FILES && !stones.contains(point - BOARD_FILES)) return false;
+        if (point < BOARD_SIZE - BOARD_FILES && !stones.contains(point + BOARD_FILES)) return false;
+
+        return true;
+    }
+
+
+    /**
+     * Stream of game suites to test.
+     */
+    public static Stream<Suite> suites() throws Exception {
+        SuiteReader reader = new SuiteReader(SUITE_PATH);
+        return reader.stream().onClose(() -> close(reader));
+    }
+
+
+    /**
+     * Close an open autoclosable instance.
+     */
+    private static void close(AutoCloseable closeable) {
+        try { closeable.close(); } catch (Exception e) {}
+    }
+}